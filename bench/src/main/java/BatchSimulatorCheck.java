@@ -0,0 +1,206 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The BatchSimulatorCheck checks the BatchSimulator against MancalaRules. Batches of starting positions and random
+ * positions, including pits that hold more than a lap of stones, are played to the end both with given moves and
+ * with the simulator's own random moves, by a vectorized batch and by a batch that steps every board with
+ * MancalaRules. After every step, every board of both batches must match a reference board that the same move was
+ * applied to with MancalaRules, as must the player to move.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class BatchSimulatorCheck
+{
+	private static final int MAX_RANDOM_STONES = 40; //Most stones in a pit of a random position
+
+	private BatchSimulatorCheck()
+	{
+	}
+
+	/**
+	 * Checks the given amount of boards per batch from the given seed.
+	 * @param boards the amount of boards per batch
+	 * @param seed the seed of the positions and moves
+	 * @return long the amount of moves that were checked
+	 * @throws IllegalStateException if a board does not match MancalaRules
+	 */
+	public static long check(int boards, long seed)
+	{
+		Random random = new Random(seed);
+		long moves = 0;
+		for (int stones = 1; stones <= 6; stones++)
+		{
+			moves += checkGames(createStartPositions(boards, stones), random, seed + stones);
+		}
+		moves += checkGames(createRandomPositions(boards, random), random, seed);
+		return moves;
+	}
+
+	/**
+	 * Checks 2048 boards per batch from a fixed seed and prints how many moves were checked.
+	 * @param args ignored
+	 */
+	public static void main(String[] args)
+	{
+		System.out.println(check(2048, 1) + " moves match MancalaRules, with " + BatchSimulator.getLanes() + " lanes");
+	}
+
+	/**
+	 * Plays the given positions to the end, first with given random moves and then with the simulator's random moves,
+	 * checking every step, and returns the amount of moves that were checked.
+	 */
+	private static long checkGames(int[][] positions, Random random, long seed)
+	{
+		int boards = positions.length;
+		BatchSimulator vector = new BatchSimulator(boards, true);
+		BatchSimulator scalar = new BatchSimulator(boards, false);
+		int[][] reference = new int[boards][];
+		int[] turn = new int[boards];
+		int[] moves = new int[boards];
+		long checked = 0;
+
+		//Given moves, chosen from the reference boards
+		setBoards(positions, reference, turn, vector, scalar);
+		while (vector.getActiveBoards() > 0)
+		{
+			for (int b = 0; b < boards; b++)
+			{
+				if (turn[b] != MancalaModel.PLAYER_NONE)
+				{
+					moves[b] = randomMove(reference[b], turn[b], random);
+					turn[b] = MancalaRules.getNextTurn(turn[b], MancalaRules.applyMove(reference[b], moves[b]));
+					checked++;
+				}
+			}
+			vector.step(moves);
+			scalar.step(moves);
+			compare(reference, turn, vector);
+			compare(reference, turn, scalar);
+		}
+
+		//The simulator's random moves, finding the move each board made among the valid moves of its reference board
+		setBoards(positions, reference, turn, vector, scalar);
+		vector.setSeed(seed);
+		scalar.setSeed(seed);
+		int[] after = new int[MancalaModel.TOTAL_PITS];
+		int[] applied = new int[MancalaModel.TOTAL_PITS];
+		while (vector.getActiveBoards() > 0)
+		{
+			vector.stepRandom();
+			scalar.stepRandom();
+			for (int b = 0; b < boards; b++)
+			{
+				if (turn[b] != MancalaModel.PLAYER_NONE)
+				{
+					vector.getBoard(b, after);
+					int player = MancalaModel.PLAYER_NONE - 1;
+					int first = MancalaRules.getFirstPitForPlayer(turn[b]);
+					for (int pit = first; pit < first + BoardGeometry.STANDARD_PITS_PER_SIDE; pit++)
+					{
+						System.arraycopy(reference[b], 0, applied, 0, MancalaModel.TOTAL_PITS);
+						int result = MancalaRules.applyMove(applied, pit);
+						if (result != MancalaRules.MOVE_INVALID && Arrays.equals(applied, after))
+						{
+							player = MancalaRules.getNextTurn(turn[b], result);
+							break;
+						}
+					}
+					if (player != vector.getPlayerTurn(b))
+					{
+						throw new IllegalStateException("Board " + b + " made no valid move from " + Arrays.toString(reference[b])
+							+ " to " + Arrays.toString(after) + " with player " + vector.getPlayerTurn(b) + " to move");
+					}
+					System.arraycopy(after, 0, reference[b], 0, MancalaModel.TOTAL_PITS);
+					turn[b] = player;
+					checked++;
+				}
+			}
+			compare(reference, turn, scalar);
+		}
+
+		return checked;
+	}
+
+	/**
+	 * Copies the given positions, with player A to move, into the reference boards and both batches.
+	 */
+	private static void setBoards(int[][] positions, int[][] reference, int[] turn, BatchSimulator vector, BatchSimulator scalar)
+	{
+		for (int b = 0; b < positions.length; b++)
+		{
+			reference[b] = positions[b].clone();
+			turn[b] = MancalaModel.PLAYER_A;
+			vector.setBoard(b, reference[b], turn[b]);
+			scalar.setBoard(b, reference[b], turn[b]);
+		}
+	}
+
+	/**
+	 * Throws if any board or player to move of the batch differs from the reference.
+	 */
+	private static void compare(int[][] reference, int[] turn, BatchSimulator batch)
+	{
+		int[] actual = new int[MancalaModel.TOTAL_PITS];
+		for (int b = 0; b < reference.length; b++)
+		{
+			batch.getBoard(b, actual);
+			if (!Arrays.equals(actual, reference[b]) || batch.getPlayerTurn(b) != turn[b])
+			{
+				throw new IllegalStateException((batch.isVectorized() ? "Vectorized" : "Scalar") + " board " + b + " is "
+					+ Arrays.toString(actual) + " with player " + batch.getPlayerTurn(b) + " to move, MancalaRules gives "
+					+ Arrays.toString(reference[b]) + " with player " + turn[b] + " to move");
+			}
+		}
+	}
+
+	/**
+	 * Returns the given amount of starting positions with the given stones per pit.
+	 */
+	private static int[][] createStartPositions(int boards, int stones)
+	{
+		int[][] positions = new int[boards][MancalaModel.TOTAL_PITS];
+		for (int[] position : positions)
+		{
+			MancalaRules.setupBoard(position, stones);
+		}
+		return positions;
+	}
+
+	/**
+	 * Returns the given amount of random positions where player A has a move, with empty pits and full laps.
+	 */
+	private static int[][] createRandomPositions(int boards, Random random)
+	{
+		int[][] positions = new int[boards][MancalaModel.TOTAL_PITS];
+		for (int[] position : positions)
+		{
+			do
+			{
+				for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+				{
+					position[pit] = random.nextBoolean() ? 0 : random.nextInt(MAX_RANDOM_STONES);
+				}
+			}
+			while (MancalaRules.sideForPlayerIsEmpty(position, MancalaModel.PLAYER_A));
+		}
+		return positions;
+	}
+
+	/**
+	 * Returns a random valid move for the given player on the given board, which must have one.
+	 */
+	private static int randomMove(int[] pits, int player, Random random)
+	{
+		int first = MancalaRules.getFirstPitForPlayer(player);
+		int pit;
+		do
+		{
+			pit = first + random.nextInt(BoardGeometry.STANDARD_PITS_PER_SIDE);
+		}
+		while (pits[pit] == 0);
+		return pit;
+	}
+}
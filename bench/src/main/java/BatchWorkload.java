@@ -0,0 +1,104 @@
+import java.util.function.LongSupplier;
+
+/**
+ * The BatchWorkload holds the operations of the batch benchmarks, which play a batch of random games from the
+ * starting position: with a BatchSimulator stepping with vectors, with a BatchSimulator stepping every board with
+ * MancalaRules, and one game after the other with MancalaRules alone, choosing the moves like the simulator does.
+ * Every operation plays a new batch of games.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class BatchWorkload
+{
+	/**
+	 * The initial stones per pit of the benchmarked games.
+	 */
+	public static final int STONES = 4;
+	private long seed; //Seed of the next batch of games
+
+	public BatchWorkload()
+	{
+		seed = 1;
+	}
+
+	/**
+	 * Returns the operation that plays the given amount of random games with a BatchSimulator.
+	 * @param boards the amount of games per operation
+	 * @param vectorized true to step the boards with vectors, false to step them with MancalaRules
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier batch(int boards, boolean vectorized)
+	{
+		final BatchSimulator batch = new BatchSimulator(boards, vectorized);
+
+		return new LongSupplier()
+		{
+			@Override
+			public long getAsLong()
+			{
+				batch.startGames(STONES);
+				return batch.playRandomGames(seed++);
+			}
+		};
+	}
+
+	/**
+	 * Returns the operation that plays the given amount of random games, one after the other, with MancalaRules.
+	 * @param boards the amount of games per operation
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier rules(final int boards)
+	{
+		final int[] pits = new int[MancalaModel.TOTAL_PITS];
+
+		return new LongSupplier()
+		{
+			private int state = 1; //State of the xorshift generator that chooses the moves
+
+			@Override
+			public long getAsLong()
+			{
+				long sum = 0;
+				for (int b = 0; b < boards; b++)
+				{
+					MancalaRules.setupBoard(pits, STONES);
+					int player = MancalaModel.PLAYER_A;
+					while (player != MancalaModel.PLAYER_NONE)
+					{
+						state ^= state << 13;
+						state ^= state >>> 17;
+						state ^= state << 5;
+						player = MancalaRules.getNextTurn(player, MancalaRules.applyMove(pits, selectPit(pits, player, state)));
+					}
+					sum += pits[MancalaModel.PIT_A_MANCALA];
+				}
+				return sum;
+			}
+		};
+	}
+
+	/**
+	 * Returns the n-th non empty pit of the player's side, for n chosen by the given random state.
+	 */
+	private static int selectPit(int[] pits, int player, int state)
+	{
+		int first = MancalaRules.getFirstPitForPlayer(player);
+		int options = 0;
+		for (int pit = first; pit < first + BoardGeometry.STANDARD_PITS_PER_SIDE; pit++)
+		{
+			if (pits[pit] > 0) options++;
+		}
+
+		int choice = ((state >>> 16) * options) >>> 16;
+		for (int pit = first; pit < first + BoardGeometry.STANDARD_PITS_PER_SIDE; pit++)
+		{
+			if (pits[pit] > 0 && choice-- == 0)
+			{
+				return pit;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,293 @@
+import java.util.function.LongSupplier;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+/**
+ * The ModelWorkload holds the operations of the model benchmarks: applying a move with the MancalaRules, also from
+ * pits holding a thousand stones, starting a game, selecting a pit, undoing a turn, notifying different amounts of
+ * listeners, and playing whole random games, both with the rules and with a Model.
+ * <br>
+ * The Model is used with animation turned off, so selectPit measures the rules and the notification instead of the
+ * recording. The random moves come from a fixed seed, so every run measures the same games.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class ModelWorkload
+{
+	/**
+	 * The initial stones per pit of the benchmarked games.
+	 */
+	public static final int STONES = 4;
+	/**
+	 * The stones per pit of the high stone count benchmark.
+	 */
+	public static final int HIGH_STONES = 1000;
+	private static final int POSITIONS = 1024; //Amount of positions the rules benchmark cycles through, a power of two
+	private final int[] scratch; //Board the rules benchmarks apply their moves to
+	private long randomState; //State of the xorshift generator that chooses the moves
+
+	public ModelWorkload()
+	{
+		scratch = new int[MancalaModel.TOTAL_PITS];
+		randomState = 0x2545F4914F6CDD1DL;
+	}
+
+	/**
+	 * Returns the operation that applies a move with the rules, cycling through positions reached by random play.
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier applyMove()
+	{
+		final int[][] positions = new int[POSITIONS][]; //Positions reached by random play, with a valid move for each
+		final int[] moves = new int[POSITIONS]; //Move made from each position
+
+		//Collect positions from random games, skipping positions without a move
+		int[] pits = new int[MancalaModel.TOTAL_PITS];
+		int player = MancalaModel.PLAYER_NONE;
+		for (int i = 0; i < POSITIONS; i++)
+		{
+			if (player == MancalaModel.PLAYER_NONE)
+			{
+				MancalaRules.setupBoard(pits, STONES);
+				player = MancalaModel.PLAYER_A;
+			}
+			positions[i] = pits.clone();
+			moves[i] = randomMove(pits, player);
+			player = MancalaRules.getNextTurn(player, MancalaRules.applyMove(pits, moves[i]));
+		}
+
+		return new LongSupplier()
+		{
+			private int position; //Position the next move is applied to
+
+			@Override
+			public long getAsLong()
+			{
+				position = (position + 1) & (POSITIONS - 1);
+				System.arraycopy(positions[position], 0, scratch, 0, MancalaModel.TOTAL_PITS);
+				return MancalaRules.applyMove(scratch, moves[position]);
+			}
+		};
+	}
+
+	/**
+	 * Returns the operation that applies a move with the rules from pits holding HIGH_STONES stones each.
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier applyMoveHighStones()
+	{
+		final int[] highStones = new int[MancalaModel.TOTAL_PITS];
+		MancalaRules.setupBoard(highStones, HIGH_STONES);
+
+		return new LongSupplier()
+		{
+			private int pit; //Pit the next move is made from
+
+			@Override
+			public long getAsLong()
+			{
+				pit = (pit + 1) % AlphaBetaSearch.PITS_PER_SIDE;
+				System.arraycopy(highStones, 0, scratch, 0, MancalaModel.TOTAL_PITS);
+				return MancalaRules.applyMove(scratch, pit);
+			}
+		};
+	}
+
+	/**
+	 * Returns the operation that plays a whole random game with the rules.
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier rulesRandomGame()
+	{
+		return new LongSupplier()
+		{
+			@Override
+			public long getAsLong()
+			{
+				MancalaRules.setupBoard(scratch, STONES);
+				int player = MancalaModel.PLAYER_A;
+				while (player != MancalaModel.PLAYER_NONE)
+				{
+					player = MancalaRules.getNextTurn(player, MancalaRules.applyMove(scratch, randomMove(scratch, player)));
+				}
+				return scratch[MancalaModel.PIT_A_MANCALA];
+			}
+		};
+	}
+
+	/**
+	 * Returns the operation that starts a game on a model.
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier startGame()
+	{
+		final Model model = createModel(0);
+
+		return new LongSupplier()
+		{
+			@Override
+			public long getAsLong()
+			{
+				model.startGame();
+				return model.getPlayerTurn();
+			}
+		};
+	}
+
+	/**
+	 * Returns the operation that selects a random pit on a model, starting a new game whenever one ends.
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier selectPit()
+	{
+		final Model model = createModel(0);
+
+		return new LongSupplier()
+		{
+			@Override
+			public long getAsLong()
+			{
+				selectRandomPit(model);
+				return model.getPlayerTurn();
+			}
+		};
+	}
+
+	/**
+	 * Returns the operation that selects a random pit on a model and undoes the turn again. Once a player has used up
+	 * their undos, the undo is refused and the game moves on.
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier undoTurn()
+	{
+		final Model model = createModel(0);
+
+		return new LongSupplier()
+		{
+			@Override
+			public long getAsLong()
+			{
+				selectRandomPit(model);
+				model.undoTurn();
+				return model.getPlayerTurn();
+			}
+		};
+	}
+
+	/**
+	 * Returns the operation that notifies the given amount of listeners, that do nothing, of a model.
+	 * @param listeners the amount of listeners
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier notifyListeners(int listeners)
+	{
+		final Model model = createModel(listeners);
+		model.startGame();
+
+		return new LongSupplier()
+		{
+			@Override
+			public long getAsLong()
+			{
+				model.notifyListeners();
+				return model.getPlayerTurn();
+			}
+		};
+	}
+
+	/**
+	 * Returns the operation that plays a whole random game on a model.
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier modelRandomGame()
+	{
+		final Model model = createModel(0);
+
+		return new LongSupplier()
+		{
+			@Override
+			public long getAsLong()
+			{
+				model.startGame();
+				while (model.hasGameEnded() == MancalaModel.PLAYER_NONE && model.getPlayerTurn() != MancalaModel.PLAYER_NONE)
+				{
+					selectRandomPit(model);
+				}
+				return model.hasGameEnded();
+			}
+		};
+	}
+
+	/**
+	 * Returns an unanimated model with the given amount of listeners that do nothing.
+	 */
+	private static Model createModel(int listeners)
+	{
+		Model model = new Model();
+		model.setAnimated(false);
+		model.setInitialStoneCount(STONES);
+		for (int i = 0; i < listeners; i++)
+		{
+			model.addChangeListener(new ChangeListener()
+			{
+				@Override
+				public void stateChanged(ChangeEvent e)
+				{
+				}
+			});
+		}
+
+		return model;
+	}
+
+	/**
+	 * Selects a random valid pit for the player to move on the given model, starting a new game if none is running.
+	 */
+	private void selectRandomPit(Model model)
+	{
+		int player = model.getPlayerTurn();
+		if (player == MancalaModel.PLAYER_NONE)
+		{
+			model.startGame();
+			player = model.getPlayerTurn();
+		}
+
+		int first = MancalaRules.getFirstPitForPlayer(player);
+		int pit = first + nextRandom(AlphaBetaSearch.PITS_PER_SIDE);
+		while (model.getStonesInPit(pit) == 0)
+		{
+			pit = (pit + 1 < first + AlphaBetaSearch.PITS_PER_SIDE) ? pit + 1 : first;
+		}
+		model.selectPit(pit);
+	}
+
+	/**
+	 * Returns a random valid move for the given player on the given board, which must have one.
+	 */
+	private int randomMove(int[] pits, int player)
+	{
+		int first = MancalaRules.getFirstPitForPlayer(player);
+		int pit = first + nextRandom(AlphaBetaSearch.PITS_PER_SIDE);
+		while (pits[pit] == 0)
+		{
+			pit = (pit + 1 < first + AlphaBetaSearch.PITS_PER_SIDE) ? pit + 1 : first;
+		}
+
+		return pit;
+	}
+
+	/**
+	 * Returns a random number in [0, bound) from the xorshift generator.
+	 */
+	private int nextRandom(int bound)
+	{
+		randomState ^= randomState << 13;
+		randomState ^= randomState >>> 7;
+		randomState ^= randomState << 17;
+
+		return (int) ((randomState >>> 33) % bound);
+	}
+}
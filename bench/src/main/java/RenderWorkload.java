@@ -0,0 +1,250 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.function.LongSupplier;
+
+/**
+ * The RenderWorkload holds the operations of the render benchmarks, which draw without needing a display: painting
+ * the board panel, with all of its pit panels, into an offscreen image, painting a normal or a mancala pit panel on
+ * its own, and every single call of a board style. A style is named like its getName without the spaces.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class RenderWorkload implements BoardStyleSource
+{
+	private final MancalaBoardPanel board; //Board panel that is painted
+	private final MancalaPitPanel[] pits; //Pit panels of the board, indexed by the MancalaModel pit constants
+	private final BufferedImage image; //Offscreen image the board is painted into
+	private BoardStyle currentStyle; //Style being measured
+
+	public RenderWorkload()
+	{
+		board = new MancalaBoardPanel(this);
+		pits = board.createPitPanels();
+		image = new BufferedImage(board.getWidth(), board.getHeight(), BufferedImage.TYPE_INT_RGB);
+	}
+
+	@Override
+	public BoardStyle getCurrentStyle()
+	{
+		return currentStyle;
+	}
+
+	/**
+	 * Returns the operation that paints a whole frame of the board in the given style, with the given stones per pit.
+	 * @param style the name of the style, without spaces
+	 * @param stones the stones in every pit
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier frame(String style, int stones)
+	{
+		setStyle(style);
+		setStones(stones);
+
+		return new LongSupplier()
+		{
+			@Override
+			public long getAsLong()
+			{
+				Graphics2D g2 = image.createGraphics();
+				g2.setColor(currentStyle.getBackgroundColor());
+				g2.fillRect(0, 0, image.getWidth(), image.getHeight());
+				board.paint(g2);
+				g2.dispose();
+				return image.getRGB(0, 0);
+			}
+		};
+	}
+
+	/**
+	 * Returns the operation that paints a normal pit panel on its own in the given style, holding the given stones.
+	 * @param style the name of the style, without spaces
+	 * @param stones the stones in every pit
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier normalPit(String style, int stones)
+	{
+		setStyle(style);
+		setStones(stones);
+
+		return paintPit(pits[MancalaModel.PIT_A01]);
+	}
+
+	/**
+	 * Returns the operation that paints a mancala pit panel on its own in the given style, holding the given stones.
+	 * @param style the name of the style, without spaces
+	 * @param stones the stones in every pit
+	 * @return LongSupplier the operation
+	 */
+	public LongSupplier mancalaPit(String style, int stones)
+	{
+		setStyle(style);
+		setStones(stones);
+
+		return paintPit(pits[MancalaModel.PIT_A_MANCALA]);
+	}
+
+	/**
+	 * Returns the operation that makes the given call of the given style, drawing what the panels would draw with it.
+	 * @param style the name of the style, without spaces
+	 * @param call the name of the BoardStyle method
+	 * @return LongSupplier the operation
+	 * @throws IllegalArgumentException if the style has no such call
+	 */
+	public LongSupplier call(String style, String call)
+	{
+		setStyle(style);
+		final Graphics2D g2 = image.createGraphics();
+
+		if (call.equals("drawBoard"))
+		{
+			return new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					currentStyle.drawBoard(g2, MancalaBoardPanel.BOARD_WIDTH, MancalaBoardPanel.BOARD_HEIGHT);
+					return image.getRGB(0, 0);
+				}
+			};
+		}
+		else if (call.equals("drawPit"))
+		{
+			return new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					currentStyle.drawPit(g2, MancalaPitPanel.PIT_NORMAL_WIDTH, MancalaPitPanel.PIT_NORMAL_HEIGHT);
+					return image.getRGB(0, 0);
+				}
+			};
+		}
+		else if (call.equals("drawStone"))
+		{
+			return new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					currentStyle.drawStone(g2, 0, 0, MancalaPitPanel.STONE_WIDTH, MancalaPitPanel.STONE_HEIGHT);
+					return image.getRGB(0, 0);
+				}
+			};
+		}
+		else if (call.equals("drawPitHighlight"))
+		{
+			return new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					currentStyle.drawPitHighlight(g2, MancalaPitPanel.PIT_NORMAL_WIDTH, MancalaPitPanel.PIT_NORMAL_HEIGHT);
+					return image.getRGB(0, 0);
+				}
+			};
+		}
+		else if (call.equals("drawBoardTitleString"))
+		{
+			return new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					currentStyle.drawBoardTitleString(g2, "Mancala", MancalaBoardPanel.BOARD_WIDTH / 2, MancalaBoardPanel.BOARD_HEIGHT / 2);
+					return image.getRGB(0, 0);
+				}
+			};
+		}
+		else if (call.equals("drawBoardPlayerLabel"))
+		{
+			return new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					currentStyle.drawBoardPlayerLabel(g2, "Player A", 0, 0, true, true);
+					return image.getRGB(0, 0);
+				}
+			};
+		}
+		else if (call.equals("drawPitStoneAmount"))
+		{
+			return new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					currentStyle.drawPitStoneAmount(g2, 11, MancalaPitPanel.PIT_NORMAL_WIDTH / 2, MancalaPitPanel.PIT_NORMAL_HEIGHT / 2);
+					return image.getRGB(0, 0);
+				}
+			};
+		}
+		else if (call.equals("drawBoardMancalaScore"))
+		{
+			return new LongSupplier()
+			{
+				@Override
+				public long getAsLong()
+				{
+					currentStyle.drawBoardMancalaScore(g2, 24, MancalaPitPanel.PIT_MANCALA_WIDTH / 2, 0, true);
+					return image.getRGB(0, 0);
+				}
+			};
+		}
+
+		g2.dispose();
+		throw new IllegalArgumentException("Unknown style call: " + call);
+	}
+
+	/**
+	 * Returns the operation that paints the given pit panel on its own.
+	 */
+	private LongSupplier paintPit(final MancalaPitPanel pit)
+	{
+		return new LongSupplier()
+		{
+			@Override
+			public long getAsLong()
+			{
+				Graphics2D g2 = image.createGraphics();
+				pit.paint(g2);
+				g2.dispose();
+				return image.getRGB(MancalaPitPanel.PIT_NORMAL_WIDTH / 2, MancalaPitPanel.PIT_NORMAL_HEIGHT / 2);
+			}
+		};
+	}
+
+	/**
+	 * Makes the style with the given name, without spaces, the current style.
+	 * @throws IllegalArgumentException if the game offers no such style
+	 */
+	private void setStyle(String name)
+	{
+		for (BoardStyle style : MancalaTest.createBoardStyles())
+		{
+			if (style.getName().replace(" ", "").equals(name))
+			{
+				currentStyle = style;
+				return;
+			}
+		}
+
+		throw new IllegalArgumentException("Unknown board style: " + name);
+	}
+
+	/**
+	 * Puts the given amount of stones in every pit, with player A to move and their first pit highlighted.
+	 */
+	private void setStones(int stones)
+	{
+		for (MancalaPitPanel pit : pits)
+		{
+			pit.setStones(stones);
+			pit.setHighlighted(false);
+		}
+		pits[MancalaModel.PIT_A01].setHighlighted(true);
+		board.setCurrentTurn(MancalaModel.PLAYER_A);
+	}
+}
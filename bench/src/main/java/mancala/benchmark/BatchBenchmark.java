@@ -0,0 +1,88 @@
+package mancala.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The BatchBenchmark measures the random game throughput of the BatchSimulator against MancalaRules, with the
+ * operations of the BatchWorkload. Every invocation plays a batch of BOARDS games on one thread, and the results are
+ * games per microsecond. Before measuring, the BatchSimulator is checked against MancalaRules with the
+ * BatchSimulatorCheck, so a faster simulator that plays by other rules fails instead of reporting a result.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+@State(Scope.Thread)
+public class BatchBenchmark
+{
+	private static final int BOARDS = 1024; //Games per invocation
+	private static final String WORKLOAD = "BatchWorkload"; //Workload class holding the operations
+	private LongSupplier vector; //Operation playing the games with a vectorized batch
+	private LongSupplier scalar; //Operation playing the games with a batch stepping with MancalaRules
+	private LongSupplier rules; //Operation playing the games one after the other with MancalaRules
+
+	/**
+	 * Checks the BatchSimulator and creates the operations.
+	 * @throws ReflectiveOperationException if the check can not be run
+	 */
+	@Setup
+	public void setup() throws ReflectiveOperationException
+	{
+		Class.forName("BatchSimulatorCheck").getMethod("check", int.class, long.class).invoke(null, 256, 1L);
+
+		vector = Workloads.create(WORKLOAD, "batch", BOARDS, true);
+		scalar = Workloads.create(WORKLOAD, "batch", BOARDS, false);
+		rules = Workloads.create(WORKLOAD, "rules", BOARDS);
+	}
+
+	/**
+	 * Plays a batch of random games with a BatchSimulator stepping with vectors.
+	 * @return long the amount of steps
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BOARDS)
+	public long vectorBatch()
+	{
+		return vector.getAsLong();
+	}
+
+	/**
+	 * Plays a batch of random games with a BatchSimulator stepping every board with MancalaRules.
+	 * @return long the amount of steps
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BOARDS)
+	public long scalarBatch()
+	{
+		return scalar.getAsLong();
+	}
+
+	/**
+	 * Plays random games one after the other with MancalaRules.
+	 * @return long the stones in the mancala of player A at the end of the games
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BOARDS)
+	public long rules()
+	{
+		return rules.getAsLong();
+	}
+}
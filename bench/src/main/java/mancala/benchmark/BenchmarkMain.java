@@ -0,0 +1,50 @@
+package mancala.benchmark;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The BenchmarkMain runs the benchmarks like the JMH main class, taking the same command line options, but always
+ * with the gc profiler, as if "-prof gc" was given, so every result also reports the bytes allocated per operation
+ * and the collections the run caused.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public final class BenchmarkMain
+{
+	private BenchmarkMain()
+	{
+	}
+
+	/**
+	 * Runs the benchmarks selected by the given JMH options, every benchmark if none are selected.
+	 * @param args the JMH command line options
+	 * @throws CommandLineOptionException if the options can not be parsed
+	 * @throws IOException if the help can not be printed
+	 * @throws RunnerException if a benchmark fails
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException
+	{
+		CommandLineOptions options = new CommandLineOptions(args);
+		if (options.shouldHelp())
+		{
+			options.showHelp();
+			return;
+		}
+		if (options.shouldList())
+		{
+			new Runner(options).list();
+			return;
+		}
+
+		new Runner(new OptionsBuilder().parent(options).addProfiler(GCProfiler.class).build()).run();
+	}
+}
@@ -0,0 +1,252 @@
+package mancala.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The ModelBenchmark measures the hot paths of the Model and the MancalaRules, with the operations of the
+ * ModelWorkload. Every benchmark has its own state, so each one measures a fresh workload.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark
+{
+	private static final String WORKLOAD = "ModelWorkload"; //Workload class holding the operations
+
+	/**
+	 * State holding the operation named by the subclass.
+	 */
+	@State(Scope.Thread)
+	public abstract static class Operation
+	{
+		LongSupplier operation; //Operation that is measured
+
+		/**
+		 * Creates the operation.
+		 */
+		@Setup
+		public void setup()
+		{
+			operation = Workloads.create(WORKLOAD, getName());
+		}
+
+		/**
+		 * Returns the name of the operation in the workload.
+		 * @return String the name of the operation
+		 */
+		abstract String getName();
+	}
+
+	/**
+	 * State of applyMove.
+	 */
+	public static class ApplyMove extends Operation
+	{
+		@Override
+		String getName()
+		{
+			return "applyMove";
+		}
+	}
+
+	/**
+	 * State of applyMoveHighStones.
+	 */
+	public static class ApplyMoveHighStones extends Operation
+	{
+		@Override
+		String getName()
+		{
+			return "applyMoveHighStones";
+		}
+	}
+
+	/**
+	 * State of rulesRandomGame.
+	 */
+	public static class RulesRandomGame extends Operation
+	{
+		@Override
+		String getName()
+		{
+			return "rulesRandomGame";
+		}
+	}
+
+	/**
+	 * State of startGame.
+	 */
+	public static class StartGame extends Operation
+	{
+		@Override
+		String getName()
+		{
+			return "startGame";
+		}
+	}
+
+	/**
+	 * State of selectPit.
+	 */
+	public static class SelectPit extends Operation
+	{
+		@Override
+		String getName()
+		{
+			return "selectPit";
+		}
+	}
+
+	/**
+	 * State of undoTurn.
+	 */
+	public static class UndoTurn extends Operation
+	{
+		@Override
+		String getName()
+		{
+			return "undoTurn";
+		}
+	}
+
+	/**
+	 * State of modelRandomGame.
+	 */
+	public static class ModelRandomGame extends Operation
+	{
+		@Override
+		String getName()
+		{
+			return "modelRandomGame";
+		}
+	}
+
+	/**
+	 * State of notifyListeners, for every amount of listeners.
+	 */
+	@State(Scope.Thread)
+	public static class Listeners
+	{
+		@Param({ "1", "8", "64" })
+		public int count; //Amount of listeners that are notified
+		LongSupplier operation; //Operation that is measured
+
+		/**
+		 * Creates the operation.
+		 */
+		@Setup
+		public void setup()
+		{
+			operation = Workloads.create(WORKLOAD, "notifyListeners", count);
+		}
+	}
+
+	/**
+	 * Applies a move with the rules, from positions reached by random play.
+	 * @param state the operation
+	 * @return long the result of the move
+	 */
+	@Benchmark
+	public long applyMove(ApplyMove state)
+	{
+		return state.operation.getAsLong();
+	}
+
+	/**
+	 * Applies a move with the rules, from pits holding a thousand stones each.
+	 * @param state the operation
+	 * @return long the result of the move
+	 */
+	@Benchmark
+	public long applyMoveHighStones(ApplyMoveHighStones state)
+	{
+		return state.operation.getAsLong();
+	}
+
+	/**
+	 * Plays a whole random game with the rules.
+	 * @param state the operation
+	 * @return long the stones in the mancala of player A at the end
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public long rulesRandomGame(RulesRandomGame state)
+	{
+		return state.operation.getAsLong();
+	}
+
+	/**
+	 * Starts a game on the model.
+	 * @param state the operation
+	 * @return long the player to move
+	 */
+	@Benchmark
+	public long startGame(StartGame state)
+	{
+		return state.operation.getAsLong();
+	}
+
+	/**
+	 * Selects a random pit on the model.
+	 * @param state the operation
+	 * @return long the player to move
+	 */
+	@Benchmark
+	public long selectPit(SelectPit state)
+	{
+		return state.operation.getAsLong();
+	}
+
+	/**
+	 * Selects a random pit on the model and undoes the turn again.
+	 * @param state the operation
+	 * @return long the player to move
+	 */
+	@Benchmark
+	public long undoTurn(UndoTurn state)
+	{
+		return state.operation.getAsLong();
+	}
+
+	/**
+	 * Notifies the listeners of the model.
+	 * @param state the operation
+	 * @return long the player to move
+	 */
+	@Benchmark
+	public long notifyListeners(Listeners state)
+	{
+		return state.operation.getAsLong();
+	}
+
+	/**
+	 * Plays a whole random game on the model.
+	 * @param state the operation
+	 * @return long the winner
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public long modelRandomGame(ModelRandomGame state)
+	{
+		return state.operation.getAsLong();
+	}
+}
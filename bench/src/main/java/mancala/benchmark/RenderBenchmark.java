@@ -0,0 +1,130 @@
+package mancala.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The RenderBenchmark measures how long the board styles take to draw, with the operations of the RenderWorkload, in a
+ * headless JVM. The operations per second of the frame benchmark are the frames per second a style can draw.
+ * <br>
+ * The stone counts cover an empty board, the starting counts, the most stones a normal pit draws one by one, the first
+ * count it draws as a number instead, and the most stones a mancala draws.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark
+{
+	private static final String WORKLOAD = "RenderWorkload"; //Workload class holding the operations
+
+	/**
+	 * State of the panel benchmarks, for every style and stone count.
+	 */
+	@State(Scope.Thread)
+	public static class Panels
+	{
+		@Param({ "BlueSteel", "Jungle" })
+		public String style; //Style that draws
+		@Param({ "0", "3", "4", "10", "11", "48" })
+		public int stones; //Stones in every pit
+		LongSupplier frame; //Operation painting the whole board
+		LongSupplier normalPit; //Operation painting a normal pit
+		LongSupplier mancalaPit; //Operation painting a mancala
+
+		/**
+		 * Creates the operations.
+		 */
+		@Setup
+		public void setup()
+		{
+			frame = Workloads.create(WORKLOAD, "frame", style, stones);
+			normalPit = Workloads.create(WORKLOAD, "normalPit", style, stones);
+			mancalaPit = Workloads.create(WORKLOAD, "mancalaPit", style, stones);
+		}
+	}
+
+	/**
+	 * State of the style call benchmark, for every style and call.
+	 */
+	@State(Scope.Thread)
+	public static class Calls
+	{
+		@Param({ "BlueSteel", "Jungle" })
+		public String style; //Style that draws
+		@Param({ "drawBoard", "drawPit", "drawStone", "drawPitHighlight", "drawBoardTitleString", "drawBoardPlayerLabel",
+			"drawPitStoneAmount", "drawBoardMancalaScore" })
+		public String call; //Style call that is made
+		LongSupplier operation; //Operation making the call
+
+		/**
+		 * Creates the operation.
+		 */
+		@Setup
+		public void setup()
+		{
+			operation = Workloads.create(WORKLOAD, "call", style, call);
+		}
+	}
+
+	/**
+	 * Paints a whole frame of the board.
+	 * @param state the operations
+	 * @return long a pixel of the frame
+	 */
+	@Benchmark
+	public long frame(Panels state)
+	{
+		return state.frame.getAsLong();
+	}
+
+	/**
+	 * Paints a normal pit panel on its own.
+	 * @param state the operations
+	 * @return long a pixel of the pit
+	 */
+	@Benchmark
+	public long normalPit(Panels state)
+	{
+		return state.normalPit.getAsLong();
+	}
+
+	/**
+	 * Paints a mancala pit panel on its own.
+	 * @param state the operations
+	 * @return long a pixel of the pit
+	 */
+	@Benchmark
+	public long mancalaPit(Panels state)
+	{
+		return state.mancalaPit.getAsLong();
+	}
+
+	/**
+	 * Makes a single call of the style.
+	 * @param state the operation
+	 * @return long a pixel of the image
+	 */
+	@Benchmark
+	public long call(Calls state)
+	{
+		return state.operation.getAsLong();
+	}
+}
@@ -0,0 +1,69 @@
+package mancala.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.LongSupplier;
+
+/**
+ * The Workloads create the operations the benchmarks measure. The game lives in the default package, which JMH does
+ * not allow benchmarks in and which no other package can import, so every operation is written in a workload class of
+ * the default package, next to the game, and is handed to the benchmarks as a LongSupplier. Each call of the supplier
+ * performs a single operation and returns a value the benchmark returns, so the work can not be eliminated.
+ * <br>
+ * A workload class has a public constructor without arguments and public methods returning a LongSupplier for each
+ * operation. Every call of create builds a new workload, so no two benchmarks share state.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public final class Workloads
+{
+	private Workloads()
+	{
+	}
+
+	/**
+	 * Returns the operation that the method of the given name makes on a new workload of the given class.
+	 * @param workload the name of the workload class in the default package
+	 * @param operation the name of the method that returns the operation
+	 * @param arguments the arguments of the method
+	 * @return LongSupplier the operation
+	 * @throws IllegalArgumentException if the workload or the method does not exist
+	 * @throws IllegalStateException if the workload or the operation could not be created
+	 */
+	public static LongSupplier create(String workload, String operation, Object... arguments)
+	{
+		Class<?> type;
+		try
+		{
+			type = Class.forName(workload);
+		}
+		catch (ClassNotFoundException e)
+		{
+			throw new IllegalArgumentException("Unknown workload: " + workload, e);
+		}
+
+		for (Method method : type.getMethods())
+		{
+			if (method.getName().equals(operation) && method.getParameterCount() == arguments.length
+				&& method.getReturnType() == LongSupplier.class)
+			{
+				try
+				{
+					return (LongSupplier) method.invoke(type.getConstructor().newInstance(), arguments);
+				}
+				catch (InvocationTargetException e)
+				{
+					throw new IllegalStateException("Could not create " + workload + "." + operation, e.getCause());
+				}
+				catch (ReflectiveOperationException e)
+				{
+					throw new IllegalStateException("Could not create " + workload + "." + operation, e);
+				}
+			}
+		}
+
+		throw new IllegalArgumentException("Unknown operation: " + workload + "." + operation);
+	}
+}
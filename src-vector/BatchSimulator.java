@@ -0,0 +1,615 @@
+import java.util.Arrays;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The BatchSimulator advances many independent Mancala games in lockstep, applying one move per board per step, for
+ * Monte Carlo rollouts and for generating datasets. Boards are stored pit major, so that pits[pit][slot] is the amount
+ * of stones in the given pit of the board held in the given slot, and a step works on as many boards at once as the
+ * lanes of an IntVector hold: picking up the selected pits, sowing the full laps and the remaining stones by their
+ * distance along the mover's ring, captures, free turns and the end of game sweep are all lane wise selects without
+ * branches. The slots after the last full vector are stepped one by one with MancalaRules, as is every slot when the
+ * simulator is created without vectors.
+ * <br>
+ * Boards whose game is over are swapped behind the boards that are still being played, so every step only works on
+ * the active slots. Callers always refer to boards by their board index, which does not change when a board is moved
+ * to a different slot.
+ * <br>
+ * Random moves come from an xorshift generator per board, which moves with its board, so every board plays the same
+ * game from the same seed whether it is stepped with vectors or with MancalaRules.
+ * <br>
+ * This class uses the jdk.incubator.vector module of Java 17, so it lives outside of src and is compiled and run with
+ * "--add-modules jdk.incubator.vector". The benchmark module in bench builds it, checks it against MancalaRules with
+ * BatchSimulatorCheck, and measures it with BatchBenchmark.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class BatchSimulator
+{
+	/**
+	 * The most stones a board of the batch may hold.
+	 */
+	public static final int MAX_STONES = 100000;
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED; //Widest vector shape of the processor
+	private static final int RING = MancalaModel.TOTAL_PITS - 1; //Amount of pits a player sows into
+	private static final int PITS_PER_SIDE = BoardGeometry.STANDARD_PITS_PER_SIDE; //Amount of normal pits per player
+	private static final int LAP_MULTIPLIER = 20165; //Multiplier that divides by RING when followed by LAP_SHIFT
+	private static final int LAP_SHIFT = 18; //Shift that divides by RING after LAP_MULTIPLIER
+	private static final int[][] RING_POSITION = new int[2][MancalaModel.TOTAL_PITS]; //Position of a pit along a player's ring, -1 for the opponent's mancala
+	private final int size; //Amount of boards
+	private final int slots; //Amount of slots, the amount of boards rounded up to whole vectors when stepped with vectors
+	private final boolean vectorized; //Boolean of whether or not the full vectors of slots are stepped with vectors
+	private final int[][] pits; //Pit major board storage, pits[pit][slot]
+	private final int[] turn; //Player to move per slot, PLAYER_NONE once the game is over
+	private final int[] move; //Pit selected this step, per slot
+	private final int[] random; //State of the xorshift generator of the random moves, per slot
+	private final int[] start; //Ring position of the selected pit this step, per slot
+	private final int[] laps; //Full laps to sow this step, per slot
+	private final int[] rest; //Stones to sow after the full laps this step, 1 to RING, per slot
+	private final int[] last; //Pit the last stone lands in this step, per slot
+	private final int[] lastStones; //Stones in the pit the last stone lands in this step, per slot
+	private final int[] slotOfBoard; //Slot that holds each board
+	private final int[] boardInSlot; //Board that is held by each slot
+	private final int[] board; //Board a slot is stepped on when stepped with MancalaRules
+	private int activeBoards; //Amount of boards whose game is not over yet, which are held by the first slots
+
+	static
+	{
+		for (int player = MancalaModel.PLAYER_A; player <= MancalaModel.PLAYER_B; player++)
+		{
+			Arrays.fill(RING_POSITION[player], -1);
+			int pit = MancalaModel.PIT_A01;
+			for (int position = 0; position < RING; position++)
+			{
+				RING_POSITION[player][pit] = position;
+				pit = MancalaRules.getNextPit(pit, player);
+			}
+		}
+	}
+
+	/**
+	 * Creates a batch of the given amount of boards, which are stepped with vectors, with no game started.
+	 * @param size the amount of boards
+	 */
+	public BatchSimulator(int size)
+	{
+		this(size, true);
+	}
+
+	/**
+	 * Creates a batch of the given amount of boards, with no game started.
+	 * @param size the amount of boards
+	 * @param vectorized true to step the boards with vectors, false to step every board with MancalaRules
+	 * @throws IllegalArgumentException if the size is negative
+	 */
+	public BatchSimulator(int size, boolean vectorized)
+	{
+		if (size < 0)
+		{
+			throw new IllegalArgumentException("Negative batch size: " + size);
+		}
+
+		this.size = size;
+		this.vectorized = vectorized;
+		slots = vectorized ? SPECIES.loopBound(size + SPECIES.length() - 1) : size;
+		pits = new int[MancalaModel.TOTAL_PITS][slots];
+		turn = new int[slots];
+		move = new int[slots];
+		random = new int[slots];
+		start = new int[slots];
+		laps = new int[slots];
+		rest = new int[slots];
+		last = new int[slots];
+		lastStones = new int[slots];
+		slotOfBoard = new int[size];
+		boardInSlot = new int[size];
+		board = new int[MancalaModel.TOTAL_PITS];
+
+		for (int b = 0; b < size; b++)
+		{
+			slotOfBoard[b] = b;
+			boardInSlot[b] = b;
+		}
+		Arrays.fill(turn, MancalaModel.PLAYER_NONE);
+		activeBoards = 0;
+		setSeed(0);
+	}
+
+	/**
+	 * Returns the amount of boards the vectors of this processor step at once.
+	 * @return int the amount of lanes
+	 */
+	public static int getLanes()
+	{
+		return SPECIES.length();
+	}
+
+	/**
+	 * Starts a new game on every board with the given amount of stones in every normal pit,
+	 * with player A to move.
+	 * @param initialStoneCount the amount of stones per normal pit
+	 * @throws IllegalArgumentException if the amount is negative, or the boards would hold more than MAX_STONES
+	 */
+	public void startGames(int initialStoneCount)
+	{
+		if (initialStoneCount < 0 || initialStoneCount > MAX_STONES / (2 * PITS_PER_SIDE))
+		{
+			throw new IllegalArgumentException("Invalid initial stone count: " + initialStoneCount);
+		}
+
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			Arrays.fill(pits[pit], 0, size, MancalaRules.isMancalaPit(pit) ? 0 : initialStoneCount);
+		}
+
+		if (initialStoneCount > 0)
+		{
+			Arrays.fill(turn, 0, size, MancalaModel.PLAYER_A);
+			activeBoards = size;
+		}
+		else
+		{
+			Arrays.fill(turn, MancalaModel.PLAYER_NONE);
+			activeBoards = 0;
+		}
+	}
+
+	/**
+	 * Copies the given position into the given board of the batch.
+	 * @param board the index of the board in the batch
+	 * @param source the board to copy, indexed by the MancalaModel pit constants
+	 * @param player the player to move, or PLAYER_NONE if the game is over
+	 * @throws IllegalArgumentException if a pit is negative, the board holds more than MAX_STONES, or the player has
+	 * no move on the given position
+	 */
+	public void setBoard(int board, int[] source, int player)
+	{
+		long stones = 0;
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			if (source[pit] < 0)
+			{
+				throw new IllegalArgumentException("Negative stones in pit " + pit + " of board " + board);
+			}
+			stones += source[pit];
+		}
+		if (stones > MAX_STONES)
+		{
+			throw new IllegalArgumentException("Board " + board + " holds more than " + MAX_STONES + " stones");
+		}
+
+		boolean isActive = player != MancalaModel.PLAYER_NONE;
+		if (isActive && MancalaRules.sideForPlayerIsEmpty(source, player))
+		{
+			throw new IllegalArgumentException("Player " + player + " has no move on board " + board);
+		}
+
+		//Move the board to the edge of the active slots when its state changes
+		int slot = slotOfBoard[board];
+		boolean wasActive = turn[slot] != MancalaModel.PLAYER_NONE;
+		if (isActive && !wasActive)
+		{
+			swapSlots(slot, activeBoards);
+			activeBoards++;
+		}
+		else if (!isActive && wasActive)
+		{
+			swapSlots(slot, activeBoards - 1);
+			activeBoards--;
+		}
+
+		slot = slotOfBoard[board];
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			pits[pit][slot] = source[pit];
+		}
+		turn[slot] = player;
+	}
+
+	/**
+	 * Copies the given board of the batch into the given array.
+	 * @param board the index of the board in the batch
+	 * @param destination the array to copy into
+	 */
+	public void getBoard(int board, int[] destination)
+	{
+		int slot = slotOfBoard[board];
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			destination[pit] = pits[pit][slot];
+		}
+	}
+
+	/**
+	 * Returns the amount of boards in the batch.
+	 * @return int the amount of boards
+	 */
+	public int getSize()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns whether or not the boards are stepped with vectors.
+	 * @return boolean true if the boards are stepped with vectors
+	 */
+	public boolean isVectorized()
+	{
+		return vectorized;
+	}
+
+	/**
+	 * Returns the amount of boards whose game is not over yet.
+	 * @return int the amount of active boards
+	 */
+	public int getActiveBoards()
+	{
+		return activeBoards;
+	}
+
+	/**
+	 * Returns the amount of stones in the given pit of the given board.
+	 * @param board the index of the board in the batch
+	 * @param pit the pit to check
+	 * @return int the amount of stones
+	 */
+	public int getStonesInPit(int board, int pit)
+	{
+		return pits[pit][slotOfBoard[board]];
+	}
+
+	/**
+	 * Returns the player to move on the given board, or PLAYER_NONE if its game is over.
+	 * @param board the index of the board in the batch
+	 * @return int the player to move
+	 */
+	public int getPlayerTurn(int board)
+	{
+		return turn[slotOfBoard[board]];
+	}
+
+	/**
+	 * Seeds the random generator of every board, each board from the given seed and its index.
+	 * @param seed the seed for the random moves
+	 */
+	public void setSeed(long seed)
+	{
+		for (int b = 0; b < size; b++)
+		{
+			long mixed = (seed + b) * 0x9E3779B97F4A7C15L;
+			random[slotOfBoard[b]] = (int) (mixed ^ (mixed >>> 32)) | 1; //An xorshift generator must not start at zero
+		}
+	}
+
+	/**
+	 * Applies one move to every board whose game is not over. Boards whose game is over
+	 * are left untouched, and their entry in moves is ignored. Every move is checked before
+	 * any board is changed.
+	 * @param moves the selected pit for every board, indexed by board
+	 * @throws IllegalArgumentException if a move is not valid for the player to move on its board
+	 */
+	public void step(int[] moves)
+	{
+		for (int s = 0; s < activeBoards; s++)
+		{
+			int pit = moves[boardInSlot[s]];
+			if (MancalaRules.getOwnerOfPit(pit) != turn[s] || MancalaRules.isMancalaPit(pit) || pits[pit][s] <= 0)
+			{
+				throw new IllegalArgumentException("Invalid move " + pit + " for board " + boardInSlot[s]);
+			}
+			move[s] = pit;
+		}
+
+		stepActiveSlots(false);
+	}
+
+	/**
+	 * Plays a random valid move on every board whose game is not over.
+	 */
+	public void stepRandom()
+	{
+		stepActiveSlots(true);
+	}
+
+	/**
+	 * Plays a random valid move on every active board until every game in the batch is over.
+	 * @param seed the seed for the random moves
+	 * @return int the amount of steps that were taken
+	 */
+	public int playRandomGames(long seed)
+	{
+		setSeed(seed);
+		int steps = 0;
+		while (activeBoards > 0)
+		{
+			stepActiveSlots(true);
+			steps++;
+		}
+
+		return steps;
+	}
+
+	/**
+	 * Steps every active slot, with vectors or with MancalaRules, then moves the boards whose game ended behind the
+	 * active slots. Every vector that holds an active slot is stepped in passes, each small enough that the compiler
+	 * keeps all of its vectors in registers, and without branches inside the loops over the pits, which would make the
+	 * compiler box the vectors they carry. The slots whose game is over are left alone.
+	 */
+	private void stepActiveSlots(boolean randomMoves)
+	{
+		int active = activeBoards;
+		int bound = vectorized ? SPECIES.loopBound(active + SPECIES.length() - 1) : 0;
+		for (int s = 0; s < bound; s += SPECIES.length())
+		{
+			if (randomMoves)
+			{
+				chooseMoves(s);
+			}
+			pickUp(s);
+			sow(s);
+			resolve(s);
+		}
+		for (int s = bound; s < active; s++)
+		{
+			stepSlot(s, randomMoves);
+		}
+
+		for (int s = active - 1; s >= 0; s--)
+		{
+			if (turn[s] == MancalaModel.PLAYER_NONE)
+			{
+				swapSlots(s, activeBoards - 1);
+				activeBoards--;
+			}
+		}
+	}
+
+	/**
+	 * Advances the random generators of the active slots of the vector at the given slot, and chooses the n-th non
+	 * empty pit of the mover's side as their move.
+	 */
+	private void chooseMoves(int s)
+	{
+		VectorMask<Integer> isB = IntVector.fromArray(SPECIES, turn, s).compare(VectorOperators.EQ, MancalaModel.PLAYER_B);
+		VectorMask<Integer> over = IntVector.fromArray(SPECIES, turn, s).compare(VectorOperators.EQ, MancalaModel.PLAYER_NONE);
+		IntVector previous = IntVector.fromArray(SPECIES, random, s);
+		IntVector state = previous.lanewise(VectorOperators.XOR, previous.lanewise(VectorOperators.LSHL, 13));
+		state = state.lanewise(VectorOperators.XOR, state.lanewise(VectorOperators.LSHR, 17));
+		state = state.lanewise(VectorOperators.XOR, state.lanewise(VectorOperators.LSHL, 5));
+		state.blend(previous, over).intoArray(random, s);
+
+		IntVector options = IntVector.zero(SPECIES);
+		for (int i = 0; i < PITS_PER_SIDE; i++)
+		{
+			IntVector own = IntVector.fromArray(SPECIES, pits[MancalaModel.PIT_A01 + i], s)
+				.blend(IntVector.fromArray(SPECIES, pits[MancalaModel.PIT_B01 + i], s), isB);
+			options = options.add(1, own.compare(VectorOperators.GT, 0));
+		}
+
+		//Count down the non empty pits until the chosen one
+		IntVector choice = state.lanewise(VectorOperators.LSHR, 16).mul(options).lanewise(VectorOperators.LSHR, 16);
+		IntVector selected = IntVector.broadcast(SPECIES, -1);
+		for (int i = 0; i < PITS_PER_SIDE; i++)
+		{
+			IntVector own = IntVector.fromArray(SPECIES, pits[MancalaModel.PIT_A01 + i], s)
+				.blend(IntVector.fromArray(SPECIES, pits[MancalaModel.PIT_B01 + i], s), isB);
+			VectorMask<Integer> nonEmpty = own.compare(VectorOperators.GT, 0);
+			VectorMask<Integer> chosen = nonEmpty.and(choice.compare(VectorOperators.EQ, 0));
+			choice = choice.sub(1, nonEmpty);
+			selected = selected.blend(IntVector.broadcast(SPECIES, MancalaModel.PIT_A01 + i).blend(MancalaModel.PIT_B01 + i, isB), chosen);
+		}
+		selected.intoArray(move, s);
+	}
+
+	/**
+	 * Picks up the selected pits of the active slots of the vector at the given slot, and splits their stones into
+	 * full laps and the remaining 1 to RING stones, the last of which ends the move. Slots whose game is over pick up
+	 * no stones.
+	 */
+	private void pickUp(int s)
+	{
+		IntVector player = IntVector.fromArray(SPECIES, turn, s);
+		IntVector selected = IntVector.fromArray(SPECIES, move, s).blend(-1, player.compare(VectorOperators.EQ, MancalaModel.PLAYER_NONE));
+		IntVector stones = IntVector.zero(SPECIES);
+		for (int i = 0; i < PITS_PER_SIDE; i++)
+		{
+			int pitA = MancalaModel.PIT_A01 + i;
+			int pitB = MancalaModel.PIT_B01 + i;
+			IntVector rowA = IntVector.fromArray(SPECIES, pits[pitA], s);
+			IntVector rowB = IntVector.fromArray(SPECIES, pits[pitB], s);
+			VectorMask<Integer> chosenA = selected.compare(VectorOperators.EQ, pitA);
+			VectorMask<Integer> chosenB = selected.compare(VectorOperators.EQ, pitB);
+			stones = stones.blend(rowA, chosenA).blend(rowB, chosenB);
+			rowA.blend(0, chosenA).intoArray(pits[pitA], s);
+			rowB.blend(0, chosenB).intoArray(pits[pitB], s);
+		}
+
+		//The ring of player A starts with their pits, the ring of player B skips player A's mancala
+		selected.sub(selected.compare(VectorOperators.GT, MancalaModel.PIT_A_MANCALA).toVector().neg()).intoArray(start, s);
+
+		//Divide by RING with a multiply and shift, which is exact for up to MAX_STONES stones
+		IntVector fullLaps = stones.sub(1).lanewise(VectorOperators.MAX, 0).mul(LAP_MULTIPLIER).lanewise(VectorOperators.LSHR, LAP_SHIFT);
+		fullLaps.intoArray(laps, s);
+		stones.sub(fullLaps.mul(RING)).intoArray(rest, s);
+	}
+
+	/**
+	 * Sows every pit of the active slots of the vector at the given slot by its distance from the selected pit along
+	 * the mover's ring, noting where the last stone lands and how many stones that pit holds then.
+	 */
+	private void sow(int s)
+	{
+		VectorMask<Integer> isB = IntVector.fromArray(SPECIES, turn, s).compare(VectorOperators.EQ, MancalaModel.PLAYER_B);
+		IntVector from = IntVector.fromArray(SPECIES, start, s);
+		IntVector fullLaps = IntVector.fromArray(SPECIES, laps, s);
+		IntVector remaining = IntVector.fromArray(SPECIES, rest, s);
+		IntVector landedPit = IntVector.broadcast(SPECIES, -1);
+		IntVector landedStones = IntVector.zero(SPECIES);
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			IntVector position = IntVector.broadcast(SPECIES, RING_POSITION[MancalaModel.PLAYER_A][pit])
+				.blend(RING_POSITION[MancalaModel.PLAYER_B][pit], isB);
+			VectorMask<Integer> sown = position.compare(VectorOperators.GE, 0);
+			IntVector distance = position.sub(from);
+			distance = distance.add(RING, distance.compare(VectorOperators.LE, 0));
+
+			IntVector row = IntVector.fromArray(SPECIES, pits[pit], s);
+			row = row.add(fullLaps.add(1, distance.compare(VectorOperators.LE, remaining)), sown);
+			row.intoArray(pits[pit], s);
+
+			VectorMask<Integer> landed = sown.and(distance.compare(VectorOperators.EQ, remaining));
+			landedPit = landedPit.blend(pit, landed);
+			landedStones = landedStones.blend(row, landed);
+		}
+		landedPit.intoArray(last, s);
+		landedStones.intoArray(lastStones, s);
+	}
+
+	/**
+	 * Resolves where the last stone of the active slots of the vector at the given slot landed: a free turn in the
+	 * mover's mancala, a capture in an empty pit of the mover's side, and the end of the game once a side is empty.
+	 */
+	private void resolve(int s)
+	{
+		IntVector player = IntVector.fromArray(SPECIES, turn, s);
+		VectorMask<Integer> isA = player.compare(VectorOperators.EQ, MancalaModel.PLAYER_A);
+		VectorMask<Integer> isB = player.compare(VectorOperators.EQ, MancalaModel.PLAYER_B);
+		VectorMask<Integer> active = isA.or(isB);
+		IntVector landedPit = IntVector.fromArray(SPECIES, last, s);
+		VectorMask<Integer> freeTurn = landedPit.compare(VectorOperators.EQ,
+			IntVector.broadcast(SPECIES, MancalaModel.PIT_A_MANCALA).blend(MancalaModel.PIT_B_MANCALA, isB));
+		VectorMask<Integer> ownSide = landedPit.compare(VectorOperators.LT, MancalaModel.PIT_A_MANCALA).and(isA)
+			.or(landedPit.compare(VectorOperators.GT, MancalaModel.PIT_A_MANCALA).and(isB));
+		VectorMask<Integer> capture = ownSide.andNot(freeTurn)
+			.and(IntVector.fromArray(SPECIES, lastStones, s).compare(VectorOperators.EQ, 1));
+		IntVector capturedPit = landedPit.blend(-1, capture.not());
+
+		//Empty the last pit and its opposite pit of every capture, summing both sides while at it
+		IntVector captured = IntVector.zero(SPECIES);
+		IntVector sideA = IntVector.zero(SPECIES);
+		IntVector sideB = IntVector.zero(SPECIES);
+		for (int i = 0; i < PITS_PER_SIDE; i++)
+		{
+			int pitA = MancalaModel.PIT_A01 + i;
+			int pitB = MancalaRules.getOppositePit(pitA);
+			VectorMask<Integer> emptied = capturedPit.compare(VectorOperators.EQ, pitA).or(capturedPit.compare(VectorOperators.EQ, pitB));
+			IntVector rowA = IntVector.fromArray(SPECIES, pits[pitA], s);
+			IntVector rowB = IntVector.fromArray(SPECIES, pits[pitB], s);
+			captured = captured.add(rowA.add(rowB), emptied);
+			rowA = rowA.blend(0, emptied);
+			rowB = rowB.blend(0, emptied);
+			rowA.intoArray(pits[pitA], s);
+			rowB.intoArray(pits[pitB], s);
+			sideA = sideA.add(rowA);
+			sideB = sideB.add(rowB);
+		}
+
+		//A game is over once a side is empty, and the other side is swept into its owner's mancala
+		VectorMask<Integer> overA = sideA.compare(VectorOperators.EQ, 0).and(active);
+		VectorMask<Integer> overB = sideB.compare(VectorOperators.EQ, 0).andNot(overA).and(active);
+		VectorMask<Integer> over = overA.or(overB);
+		IntVector.fromArray(SPECIES, pits[MancalaModel.PIT_A_MANCALA], s).add(captured, isA).add(sideA, overB)
+			.intoArray(pits[MancalaModel.PIT_A_MANCALA], s);
+		IntVector.fromArray(SPECIES, pits[MancalaModel.PIT_B_MANCALA], s).add(captured, isB).add(sideB, overA)
+			.intoArray(pits[MancalaModel.PIT_B_MANCALA], s);
+		if (over.anyTrue())
+		{
+			//The side that was not empty has been swept, so every normal pit of an ended game is emptied
+			for (int i = 0; i < PITS_PER_SIDE; i++)
+			{
+				int pitA = MancalaModel.PIT_A01 + i;
+				int pitB = MancalaModel.PIT_B01 + i;
+				IntVector.fromArray(SPECIES, pits[pitA], s).blend(0, over).intoArray(pits[pitA], s);
+				IntVector.fromArray(SPECIES, pits[pitB], s).blend(0, over).intoArray(pits[pitB], s);
+			}
+		}
+
+		//The same player moves again after a free turn, otherwise the opponent, and no one once the game is over
+		player.lanewise(VectorOperators.XOR, 1, freeTurn.not()).blend(MancalaModel.PLAYER_NONE, over.or(active.not()))
+			.intoArray(turn, s);
+	}
+
+	/**
+	 * Steps the given slot on its own with MancalaRules.
+	 */
+	private void stepSlot(int s, boolean randomMoves)
+	{
+		int player = turn[s];
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			board[pit] = pits[pit][s];
+		}
+
+		if (randomMoves)
+		{
+			//Advance the generator and choose the n-th non empty pit of the mover's side
+			int state = random[s];
+			state ^= state << 13;
+			state ^= state >>> 17;
+			state ^= state << 5;
+			random[s] = state;
+
+			int first = MancalaRules.getFirstPitForPlayer(player);
+			int options = 0;
+			for (int pit = first; pit < first + PITS_PER_SIDE; pit++)
+			{
+				if (board[pit] > 0) options++;
+			}
+
+			int choice = ((state >>> 16) * options) >>> 16;
+			for (int pit = first; pit < first + PITS_PER_SIDE; pit++)
+			{
+				if (board[pit] > 0 && choice-- == 0)
+				{
+					move[s] = pit;
+					break;
+				}
+			}
+		}
+
+		turn[s] = MancalaRules.getNextTurn(player, MancalaRules.applyMove(board, move[s]));
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			pits[pit][s] = board[pit];
+		}
+	}
+
+	/**
+	 * Swaps the boards held by the two given slots.
+	 */
+	private void swapSlots(int a, int b)
+	{
+		if (a == b)
+		{
+			return;
+		}
+
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			int[] row = pits[pit];
+			int stones = row[a];
+			row[a] = row[b];
+			row[b] = stones;
+		}
+
+		int player = turn[a];
+		turn[a] = turn[b];
+		turn[b] = player;
+
+		int state = random[a];
+		random[a] = random[b];
+		random[b] = state;
+
+		int boardA = boardInSlot[a];
+		int boardB = boardInSlot[b];
+		boardInSlot[a] = boardB;
+		boardInSlot[b] = boardA;
+		slotOfBoard[boardA] = b;
+		slotOfBoard[boardB] = a;
+	}
+}
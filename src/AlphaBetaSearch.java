@@ -0,0 +1,502 @@
+/**
+ * The AlphaBetaSearch is a computer player that finds the best move for the player to move
+ * with a negamax alpha beta search over the MancalaRules. Scores are the difference between
+ * the mover's mancala and the opponent's mancala, so a finished game scores its final margin.
+ * <br>
+ * Every ply of the search owns a preallocated board, a move is made by copying the parent
+ * board into the child ply and applying the move there, and unmade by returning to the parent
+ * ply, so nothing is allocated while searching. A free turn keeps the same player to move, so
+ * the child score is only negated when the turn actually passes to the opponent.
+ * <br>
+ * Positions are looked up in a TranspositionTable keyed by a Zobrist hash that is updated
+ * incrementally from ply to ply, both to cut off positions that were already searched deep enough
+ * and to search the best move stored for a position first.
+ * <br>
+ * If an EndgameDatabase is set, positions with few enough stones left in play are not searched
+ * at all, their exact score is read from the database instead.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class AlphaBetaSearch implements MancalaEngine
+{
+	/**
+	 * The default depth, in plies, to search to.
+	 */
+	public static final int DEFAULT_DEPTH = 12;
+	/**
+	 * The largest depth, in plies, that can be searched to.
+	 */
+	public static final int MAX_DEPTH = 64;
+	/**
+	 * The default base 2 logarithm of the amount of transposition table entries.
+	 */
+	public static final int DEFAULT_TABLE_BITS = 18;
+	static final int INFINITY = Integer.MAX_VALUE - 1; //Larger than any score, shared with the other engines
+	private static final int MIN_TABLE_DEPTH = 4; //Nodes closer to the leaves than this are not worth a table lookup
+	private static final long DEADLINE_CHECK_MASK = 1023; //The deadline is checked once every this many plus one nodes
+	static final int PITS_PER_SIDE = MancalaModel.PIT_A_MANCALA - MancalaModel.PIT_A01; //Most moves a player can have
+	private final int[][] boards; //The board of every ply of the search
+	private final int[][] moves; //The ordered moves of every ply of the search
+	private final long[] hashes; //The Zobrist hash of the board of every ply of the search
+	private TranspositionTable table; //Table of searched positions, or null to search without one
+	private EndgameDatabase endgame; //Solved endgame positions, or null to search them
+	private int maxDepth; //Depth in plies to search to
+	private long nodeLimit; //Maximum amount of nodes to search, or 0 for no limit
+	private long nodes; //Amount of nodes searched by the current search
+	private volatile long deadline; //System.nanoTime by which the current search must stop
+	private volatile boolean hasDeadline; //Boolean flag on whether searches have a deadline
+	private boolean aborted; //Boolean flag on whether the current search ran out of nodes or time
+	private int movesCompleted; //Amount of root moves the current search finished searching
+	private int lastScore; //Score of the best move of the last search
+
+	/**
+	 * Creates a search with its own transposition table of the default size.
+	 */
+	public AlphaBetaSearch()
+	{
+		this(new TranspositionTable(DEFAULT_TABLE_BITS, TranspositionTable.REPLACE_TWO_TIER));
+	}
+
+	/**
+	 * Creates a search that uses the given transposition table, which may be shared with other searches.
+	 * @param table the table, or null to search without one
+	 */
+	public AlphaBetaSearch(TranspositionTable table)
+	{
+		boards = new int[MAX_DEPTH + 1][MancalaModel.TOTAL_PITS];
+		moves = new int[MAX_DEPTH + 1][PITS_PER_SIDE];
+		hashes = new long[MAX_DEPTH + 1];
+		this.table = table;
+		maxDepth = DEFAULT_DEPTH;
+		nodeLimit = 0;
+	}
+
+	/**
+	 * Sets the transposition table used by searches.
+	 * @param table the table, or null to search without one
+	 */
+	public void setTranspositionTable(TranspositionTable table)
+	{
+		this.table = table;
+	}
+
+	/**
+	 * Returns the transposition table used by searches.
+	 * @return TranspositionTable the table, or null if there is none
+	 */
+	public TranspositionTable getTranspositionTable()
+	{
+		return table;
+	}
+
+	/**
+	 * Sets the endgame database that positions with few stones left in play are looked up in.
+	 * @param endgame the database, or null to search those positions
+	 */
+	public void setEndgameDatabase(EndgameDatabase endgame)
+	{
+		this.endgame = endgame;
+	}
+
+	/**
+	 * Returns the endgame database that positions with few stones left in play are looked up in.
+	 * @return EndgameDatabase the database, or null if there is none
+	 */
+	public EndgameDatabase getEndgameDatabase()
+	{
+		return endgame;
+	}
+
+	/**
+	 * Sets the depth, in plies, that searches are made to.
+	 * @param depth the depth, between 1 and MAX_DEPTH
+	 */
+	public void setMaxDepth(int depth)
+	{
+		maxDepth = Math.max(1, Math.min(depth, MAX_DEPTH));
+	}
+
+	/**
+	 * Returns the depth, in plies, that searches are made to.
+	 * @return int the depth
+	 */
+	public int getMaxDepth()
+	{
+		return maxDepth;
+	}
+
+	/**
+	 * Sets the maximum amount of nodes a search may visit before it stops and returns
+	 * the best move found so far.
+	 * @param limit the node limit, or 0 for no limit
+	 */
+	public void setNodeLimit(long limit)
+	{
+		nodeLimit = Math.max(0, limit);
+	}
+
+	/**
+	 * Sets the time by which searches must stop and return the best move found so far.
+	 * The deadline stays in place for every following search until it is cleared.
+	 * @param nanoTime the deadline, as a System.nanoTime value
+	 */
+	public void setDeadline(long nanoTime)
+	{
+		deadline = nanoTime;
+		hasDeadline = true;
+	}
+
+	/**
+	 * Removes the deadline, so searches run until they complete or reach the node limit.
+	 */
+	public void clearDeadline()
+	{
+		hasDeadline = false;
+	}
+
+	/**
+	 * Stops the running search as soon as possible, as if its deadline had passed. Can be called from any thread.
+	 * Following searches also stop right away until a new deadline is set or the deadline is cleared.
+	 */
+	public void cancel()
+	{
+		setDeadline(System.nanoTime());
+	}
+
+	/**
+	 * Returns the amount of nodes visited by the last search.
+	 * @return long the amount of nodes
+	 */
+	public long getNodesSearched()
+	{
+		return nodes;
+	}
+
+	/**
+	 * Returns the score of the best move found by the last search, from the
+	 * point of view of the player who was to move.
+	 * @return int the score
+	 */
+	public int getLastScore()
+	{
+		return lastScore;
+	}
+
+	/**
+	 * Returns true if the last search was stopped by the node limit or the deadline before it completed.
+	 * @return boolean true if the last search was stopped early
+	 */
+	public boolean wasAborted()
+	{
+		return aborted;
+	}
+
+	/**
+	 * Returns the amount of moves of the root position the last search finished searching. If the search
+	 * was stopped early the move it returned is the best of these, or the first move it would have searched if there are none.
+	 * @return int the amount of completed root moves
+	 */
+	public int getMovesCompleted()
+	{
+		return movesCompleted;
+	}
+
+	/**
+	 * Returns the best move for the player whose turn it is in the given model.
+	 * @param model the model to find a move for
+	 * @return int the pit to select, or -1 if there is no move to make
+	 */
+	public int findBestMove(MancalaModel model)
+	{
+		int[] pits = boards[0];
+		for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+		{
+			pits[i] = model.getStonesInPit(i);
+		}
+
+		return search(model.getPlayerTurn());
+	}
+
+	/**
+	 * Returns the best move for the given player on the given board.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @return int the pit to select, or -1 if there is no move to make
+	 */
+	public int findBestMove(int[] pits, int player)
+	{
+		System.arraycopy(pits, 0, boards[0], 0, MancalaModel.TOTAL_PITS);
+		return search(player);
+	}
+
+	/**
+	 * Does nothing, since the search runs on the thread that asks for a move.
+	 */
+	public void shutdown()
+	{
+	}
+
+	/**
+	 * Returns the score of the given board for the given player searched to the given depth within the
+	 * window of alpha and beta. A score at or below alpha is an upper bound, and a score at or above beta is a
+	 * lower bound. This does not start a new transposition table generation, so it can be used by callers
+	 * that split one search into many.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @param depth the depth, in plies, to search to
+	 * @param alpha the lower bound of the window
+	 * @param beta the upper bound of the window
+	 * @return int the score from the point of view of the player to move
+	 */
+	public int searchPosition(int[] pits, int player, int depth, int alpha, int beta)
+	{
+		nodes = 0;
+		aborted = false;
+		System.arraycopy(pits, 0, boards[0], 0, MancalaModel.TOTAL_PITS);
+		hashes[0] = Zobrist.hash(boards[0], player);
+
+		return negamax(0, player, Math.min(depth, MAX_DEPTH), alpha, beta);
+	}
+
+	/**
+	 * Searches the board of the root ply for the given player and returns the best move.
+	 */
+	private int search(int player)
+	{
+		nodes = 0;
+		aborted = false;
+		movesCompleted = 0;
+		lastScore = 0;
+
+		if (player != MancalaModel.PLAYER_A && player != MancalaModel.PLAYER_B)
+		{
+			return -1;
+		}
+
+		int ttMove = -1;
+		hashes[0] = Zobrist.hash(boards[0], player);
+		if (table != null)
+		{
+			table.newSearch();
+			long entry = table.probe(hashes[0]);
+			if (entry != TranspositionTable.NO_ENTRY)
+			{
+				ttMove = TranspositionTable.getMove(entry);
+			}
+		}
+
+		int bestMove = -1;
+		int alpha = -INFINITY;
+		int count = generateMoves(0, player, ttMove);
+		for (int i = 0; i < count; i++)
+		{
+			int pit = moves[0][i];
+			int score = searchMove(0, pit, player, maxDepth - 1, alpha, INFINITY);
+			if (aborted)
+			{
+				break;
+			}
+
+			movesCompleted++;
+			if (bestMove == -1 || score > alpha)
+			{
+				alpha = score;
+				bestMove = pit;
+			}
+		}
+
+		if (bestMove == -1)
+		{
+			//Stopped before any move was completed, so fall back on the move that would have been searched first
+			lastScore = 0;
+			return (count > 0) ? moves[0][0] : -1;
+		}
+
+		if (table != null && !aborted)
+		{
+			table.store(hashes[0], maxDepth, TranspositionTable.BOUND_EXACT, alpha, bestMove);
+		}
+
+		lastScore = alpha;
+		return bestMove;
+	}
+
+	/**
+	 * Negamax search of the board of the given ply for the given player.
+	 */
+	private int negamax(int ply, int player, int depth, int alpha, int beta)
+	{
+		if (endgame != null && endgame.contains(boards[ply]))
+		{
+			return evaluate(boards[ply], player) + endgame.getValue(boards[ply], player);
+		}
+
+		if (depth <= 0 || ply >= MAX_DEPTH)
+		{
+			return evaluate(boards[ply], player);
+		}
+
+		//Look the position up, and cut off if it was already searched deep enough
+		int ttMove = -1;
+		long key = hashes[ply];
+		boolean useTable = table != null && depth >= MIN_TABLE_DEPTH;
+		if (useTable)
+		{
+			long entry = table.probe(key);
+			if (entry != TranspositionTable.NO_ENTRY)
+			{
+				ttMove = TranspositionTable.getMove(entry);
+				if (TranspositionTable.getDepth(entry) >= depth)
+				{
+					int score = TranspositionTable.getScore(entry);
+					int bound = TranspositionTable.getBound(entry);
+					if ((bound == TranspositionTable.BOUND_EXACT)
+							|| (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+							|| (bound == TranspositionTable.BOUND_UPPER && score <= alpha))
+					{
+						return score;
+					}
+				}
+			}
+		}
+
+		int originalAlpha = alpha;
+		int best = -INFINITY;
+		int bestMove = -1;
+		int count = generateMoves(ply, player, ttMove);
+		for (int i = 0; i < count; i++)
+		{
+			int pit = moves[ply][i];
+			int score = searchMove(ply, pit, player, depth - 1, alpha, beta);
+			if (aborted)
+			{
+				return best;
+			}
+
+			if (score > best)
+			{
+				best = score;
+				bestMove = pit;
+				if (score > alpha)
+				{
+					alpha = score;
+					if (alpha >= beta)
+					{
+						break;
+					}
+				}
+			}
+		}
+
+		if (useTable)
+		{
+			int bound;
+			if (best <= originalAlpha)
+			{
+				bound = TranspositionTable.BOUND_UPPER;
+			}
+			else if (best >= beta)
+			{
+				bound = TranspositionTable.BOUND_LOWER;
+			}
+			else
+			{
+				bound = TranspositionTable.BOUND_EXACT;
+			}
+			table.store(key, depth, bound, best, bestMove);
+		}
+
+		return best;
+	}
+
+	/**
+	 * Makes the given move from the board of the given ply into the next ply, searches it,
+	 * and returns its score from the point of view of the given player.
+	 */
+	private int searchMove(int ply, int pit, int player, int depth, int alpha, int beta)
+	{
+		nodes++;
+		if ((nodeLimit > 0 && nodes > nodeLimit)
+				|| ((nodes & DEADLINE_CHECK_MASK) == 0 && hasDeadline && System.nanoTime() - deadline >= 0))
+		{
+			aborted = true;
+		}
+
+		//Make the move on the child ply
+		int[] parent = boards[ply];
+		int[] child = boards[ply + 1];
+		System.arraycopy(parent, 0, child, 0, MancalaModel.TOTAL_PITS);
+		int result = MancalaRules.applyMove(child, pit);
+		int next = MancalaRules.getNextTurn(player, result);
+
+		if (next == MancalaModel.PLAYER_NONE)
+		{
+			return evaluate(child, player);
+		}
+
+		if (table != null && depth >= MIN_TABLE_DEPTH)
+		{
+			hashes[ply + 1] = Zobrist.update(hashes[ply], parent, player, child, next);
+		}
+
+		if (next == player)
+		{
+			return negamax(ply + 1, player, depth, alpha, beta);
+		}
+
+		return -negamax(ply + 1, next, depth, -beta, -alpha);
+	}
+
+	/**
+	 * Fills the move list of the given ply with the valid moves of the given player and returns how many there are.
+	 */
+	private int generateMoves(int ply, int player, int ttMove)
+	{
+		return orderMoves(boards[ply], player, ttMove, moves[ply]);
+	}
+
+	/**
+	 * Fills the given list with the valid moves of the given player and returns how many there are.
+	 * The given preferred move is searched first, then moves that end in the player's own mancala,
+	 * then every other move, from the pit closest to the mancala outwards.
+	 */
+	static int orderMoves(int[] pits, int player, int preferredMove, int[] list)
+	{
+		int first = MancalaRules.getFirstPitForPlayer(player);
+		int mancala = MancalaRules.getMancalaForPlayer(player);
+		int count = 0;
+
+		if (preferredMove >= first && preferredMove < mancala && pits[preferredMove] > 0)
+		{
+			list[count++] = preferredMove;
+		}
+		for (int pit = mancala - 1; pit >= first; pit--)
+		{
+			if (pit != preferredMove && pits[pit] == mancala - pit)
+			{
+				list[count++] = pit;
+			}
+		}
+		for (int pit = mancala - 1; pit >= first; pit--)
+		{
+			if (pit != preferredMove && pits[pit] > 0 && pits[pit] != mancala - pit)
+			{
+				list[count++] = pit;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the score of the given board from the point of view of the given player.
+	 */
+	static int evaluate(int[] pits, int player)
+	{
+		int mine = pits[MancalaRules.getMancalaForPlayer(player)];
+		int theirs = pits[MancalaRules.getMancalaForPlayer(MancalaRules.getOppositePlayer(player))];
+		return mine - theirs;
+	}
+}
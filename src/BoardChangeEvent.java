@@ -0,0 +1,158 @@
+import java.util.EventObject;
+
+/**
+ * A BoardChangeEvent lists the changes between two states of a board: the pits whose amount of
+ * stones changed, with their old and new amounts, the player to move before and after, and whether
+ * the change ended the game. Pits that did not change are left out, so the event stays small enough
+ * to be handed to views that only update what changed, or to be sent to a remote spectator.
+ * Events are immutable.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class BoardChangeEvent extends EventObject
+{
+	private static final long serialVersionUID = 1L;
+	private final int[] changedPits; //Pits whose amount of stones changed, in ascending order
+	private final int[] oldStones; //Amount of stones of every changed pit before the change
+	private final int[] newStones; //Amount of stones of every changed pit after the change
+	private final int oldTurn; //Player to move before the change
+	private final int newTurn; //Player to move after the change
+	private final boolean gameOver; //Boolean flag on whether the change ended the game
+	private final int winner; //Winning player if the change ended the game, PLAYER_NONE otherwise
+
+	/**
+	 * Creates the event for the changes between the given boards.
+	 * @param source the object the board belongs to
+	 * @param oldPits the board before the change
+	 * @param newPits the board after the change
+	 * @param oldTurn the player to move before the change
+	 * @param newTurn the player to move after the change
+	 * @param gameOver true if the change ended the game
+	 * @param winner the winning player if the change ended the game, which is PLAYER_NONE for a tie
+	 */
+	public BoardChangeEvent(Object source, int[] oldPits, int[] newPits, int oldTurn, int newTurn, boolean gameOver, int winner)
+	{
+		super(source);
+
+		if (oldPits.length != newPits.length)
+		{
+			throw new IllegalArgumentException("Boards have different sizes: " + oldPits.length + " and " + newPits.length);
+		}
+
+		int count = 0;
+		for (int pit = 0; pit < newPits.length; pit++)
+		{
+			if (oldPits[pit] != newPits[pit])
+			{
+				count++;
+			}
+		}
+
+		changedPits = new int[count];
+		oldStones = new int[count];
+		newStones = new int[count];
+		int i = 0;
+		for (int pit = 0; pit < newPits.length; pit++)
+		{
+			if (oldPits[pit] != newPits[pit])
+			{
+				changedPits[i] = pit;
+				oldStones[i] = oldPits[pit];
+				newStones[i] = newPits[pit];
+				i++;
+			}
+		}
+
+		this.oldTurn = oldTurn;
+		this.newTurn = newTurn;
+		this.gameOver = gameOver;
+		this.winner = gameOver ? winner : MancalaModel.PLAYER_NONE;
+	}
+
+	/**
+	 * Returns the amount of pits whose amount of stones changed.
+	 * @return int the amount of changed pits
+	 */
+	public int getChangedPitCount()
+	{
+		return changedPits.length;
+	}
+
+	/**
+	 * Returns the changed pit with the given index, where changed pits are in ascending order.
+	 * @param index the index, from 0 to getChangedPitCount() - 1
+	 * @return int the pit
+	 */
+	public int getChangedPit(int index)
+	{
+		return changedPits[index];
+	}
+
+	/**
+	 * Returns the amount of stones the changed pit with the given index had before the change.
+	 * @param index the index, from 0 to getChangedPitCount() - 1
+	 * @return int the old amount of stones
+	 */
+	public int getOldStones(int index)
+	{
+		return oldStones[index];
+	}
+
+	/**
+	 * Returns the amount of stones the changed pit with the given index has after the change.
+	 * @param index the index, from 0 to getChangedPitCount() - 1
+	 * @return int the new amount of stones
+	 */
+	public int getNewStones(int index)
+	{
+		return newStones[index];
+	}
+
+	/**
+	 * Returns the player to move before the change.
+	 * @return int the player
+	 */
+	public int getOldTurn()
+	{
+		return oldTurn;
+	}
+
+	/**
+	 * Returns the player to move after the change, or PLAYER_NONE if no game is running.
+	 * @return int the player
+	 */
+	public int getNewTurn()
+	{
+		return newTurn;
+	}
+
+	/**
+	 * Returns true if the player to move changed.
+	 * @return boolean true if the turn changed
+	 */
+	public boolean isTurnChanged()
+	{
+		return oldTurn != newTurn;
+	}
+
+	/**
+	 * Returns true if the change ended the game.
+	 * @return boolean true if the game is over
+	 */
+	public boolean isGameOver()
+	{
+		return gameOver;
+	}
+
+	/**
+	 * Returns the winning player if the change ended the game, and PLAYER_NONE for a tie or
+	 * when the game did not end.
+	 * @return int the winner
+	 */
+	public int getWinner()
+	{
+		return winner;
+	}
+}
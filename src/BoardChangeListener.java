@@ -0,0 +1,19 @@
+import java.util.EventListener;
+
+/**
+ * The BoardChangeListener is notified with the exact changes of a board: which pits changed
+ * and by how much, and whether the turn changed or the game ended. It is the typed counterpart
+ * of the ChangeListener, for listeners that only want to update what changed.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public interface BoardChangeListener extends EventListener
+{
+	/**
+	 * Called after the board changed.
+	 * @param e the changes of the board
+	 */
+	void boardChanged(BoardChangeEvent e);
+}
@@ -0,0 +1,203 @@
+/**
+ * The BoardGeometry describes the layout of a Kalah board with any amount of normal pits per side.
+ * Pits are numbered the same way as the MancalaModel pit constants: player A's normal pits first,
+ * then player A's mancala, then player B's normal pits, then player B's mancala. The owner,
+ * opposite pit and next sowing pit of every pit are worked out once when the geometry is created,
+ * so the rules and the user interface only look them up.
+ * <br>
+ * There is one shared geometry per amount of pits per side. STANDARD is the six pit board of
+ * the MancalaModel constants.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public final class BoardGeometry
+{
+	/**
+	 * The fewest normal pits per side a board can have.
+	 */
+	public static final int MIN_PITS_PER_SIDE = 1;
+	/**
+	 * The most normal pits per side a board can have, which is the most the board panel fits in the frame.
+	 */
+	public static final int MAX_PITS_PER_SIDE = 10;
+	/**
+	 * The normal pits per side of the standard board, the one described by the MancalaModel pit constants.
+	 */
+	public static final int STANDARD_PITS_PER_SIDE = 6;
+	private static final BoardGeometry[] GEOMETRIES = new BoardGeometry[MAX_PITS_PER_SIDE + 1]; //Shared geometry for every amount of pits per side
+	/**
+	 * The six pit board described by the MancalaModel pit constants.
+	 */
+	public static final BoardGeometry STANDARD;
+	private final int pitsPerSide; //Normal pits per side
+	private final int totalPits; //Pits including both mancalas
+	private final int[] owner; //Player who owns every pit
+	private final int[] opposite; //Opposite pit across the board for every pit
+	private final int[][] next; //Next pit to sow into for every player and pit, skipping the enemy mancala
+
+	static
+	{
+		for (int n = MIN_PITS_PER_SIDE; n <= MAX_PITS_PER_SIDE; n++)
+		{
+			GEOMETRIES[n] = new BoardGeometry(n);
+		}
+		STANDARD = forPitsPerSide(STANDARD_PITS_PER_SIDE);
+	}
+
+	private BoardGeometry(int pitsPerSide)
+	{
+		this.pitsPerSide = pitsPerSide;
+		totalPits = (pitsPerSide + 1) * 2;
+		owner = new int[totalPits];
+		opposite = new int[totalPits];
+		next = new int[2][totalPits];
+
+		for (int pit = 0; pit < totalPits; pit++)
+		{
+			owner[pit] = (pit <= pitsPerSide) ? MancalaModel.PLAYER_A : MancalaModel.PLAYER_B;
+		}
+		for (int pit = 0; pit < totalPits; pit++)
+		{
+			if (isMancalaPit(pit))
+			{
+				opposite[pit] = getMancalaForPlayer(getOpponent(owner[pit]));
+			}
+			else
+			{
+				opposite[pit] = totalPits - 2 - pit;
+			}
+
+			for (int player = MancalaModel.PLAYER_A; player <= MancalaModel.PLAYER_B; player++)
+			{
+				int following = (pit + 1) % totalPits;
+				if (following == getMancalaForPlayer(getOpponent(player)))
+				{
+					following = (following + 1) % totalPits;
+				}
+				next[player][pit] = following;
+			}
+		}
+	}
+
+	/**
+	 * Returns the shared geometry for the given amount of normal pits per side.
+	 * @param pitsPerSide the normal pits per side
+	 * @return BoardGeometry the geometry
+	 */
+	public static BoardGeometry forPitsPerSide(int pitsPerSide)
+	{
+		if (pitsPerSide < MIN_PITS_PER_SIDE || pitsPerSide > MAX_PITS_PER_SIDE)
+		{
+			throw new IllegalArgumentException("Pits per side must be between " + MIN_PITS_PER_SIDE + " and " + MAX_PITS_PER_SIDE + ": " + pitsPerSide);
+		}
+
+		return GEOMETRIES[pitsPerSide];
+	}
+
+	/**
+	 * Returns the amount of normal pits per side.
+	 * @return int the pits per side
+	 */
+	public int getPitsPerSide()
+	{
+		return pitsPerSide;
+	}
+
+	/**
+	 * Returns the amount of pits on the board, including both mancalas.
+	 * @return int the total pits
+	 */
+	public int getTotalPits()
+	{
+		return totalPits;
+	}
+
+	/**
+	 * Returns true if the given pit is a mancala pit, and
+	 * false if it is a normal pit.
+	 * @param pit the pit to check
+	 * @return boolean true if the pit is a mancala pit
+	 */
+	public boolean isMancalaPit(int pit)
+	{
+		return pit == pitsPerSide || pit == totalPits - 1;
+	}
+
+	/**
+	 * Returns the index of the player that owns the given pit, or PLAYER_NONE
+	 * if the pit is not a valid pit.
+	 * @param pit the pit to find the owner of
+	 * @return int the index of the player who owns the pit.
+	 */
+	public int getOwnerOfPit(int pit)
+	{
+		if (pit < 0 || pit >= totalPits)
+		{
+			return MancalaModel.PLAYER_NONE;
+		}
+
+		return owner[pit];
+	}
+
+	/**
+	 * Returns the mancala pit owned by the given player,
+	 * returns -1 if invalid player.
+	 * @param player the player to return the mancala pit for
+	 * @return int the identifier of the mancala pit
+	 */
+	public int getMancalaForPlayer(int player)
+	{
+		if (player == MancalaModel.PLAYER_A)
+		{
+			return pitsPerSide;
+		}
+		else if (player == MancalaModel.PLAYER_B)
+		{
+			return totalPits - 1;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the first normal pit of the given player's side.
+	 * @param player the player
+	 * @return int the identifier of the first pit
+	 */
+	public int getFirstPitForPlayer(int player)
+	{
+		return (player == MancalaModel.PLAYER_A) ? 0 : pitsPerSide + 1;
+	}
+
+	/**
+	 * Returns the opposite pit across the board from the given pit.
+	 * @param pit the pit to check the opposite of
+	 * @return int the identifier of the opposite pit
+	 */
+	public int getOppositePit(int pit)
+	{
+		return opposite[pit];
+	}
+
+	/**
+	 * Returns the pit that the given player sows into after the given pit,
+	 * which skips over the mancala of the player's opponent.
+	 * @param pit the pit the last stone was dropped into
+	 * @param player the player who is sowing
+	 * @return int the identifier of the next pit
+	 */
+	public int getNextPit(int pit, int player)
+	{
+		return next[player][pit];
+	}
+
+	/**
+	 * Returns the opponent of the given player, which must be PLAYER_A or PLAYER_B.
+	 */
+	private static int getOpponent(int player)
+	{
+		return (player == MancalaModel.PLAYER_A) ? MancalaModel.PLAYER_B : MancalaModel.PLAYER_A;
+	}
+}
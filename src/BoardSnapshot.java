@@ -0,0 +1,92 @@
+/**
+ * A BoardSnapshot is the whole visible state of a model at one moment: the stones in every pit,
+ * the player to move, the winner, and the move that led to it, if it was reached by a recorded move.
+ * The model publishes a new snapshot through a single volatile reference after every change, so a
+ * reader on any thread that takes one snapshot sees a consistent board, without locking the thread
+ * that changes the model. Snapshots are immutable and numbered in the order they were published.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public final class BoardSnapshot
+{
+	private final long version; //Number of the snapshot within the model, counting up from 0
+	private final int[] pits; //Stones in every pit
+	private final int turn; //Player to move, or PLAYER_NONE if no game is running
+	private final int winner; //Winning player, or PLAYER_NONE while the game is not won
+	private final MoveTimeline move; //Recorded move that led to this snapshot, or null
+
+	/**
+	 * Creates a snapshot, copying the given board.
+	 * @param version the number of the snapshot within the model
+	 * @param pits the stones in every pit
+	 * @param turn the player to move
+	 * @param winner the winning player
+	 * @param move the recorded move that led to the snapshot, or null
+	 */
+	public BoardSnapshot(long version, int[] pits, int turn, int winner, MoveTimeline move)
+	{
+		this.version = version;
+		this.pits = pits.clone();
+		this.turn = turn;
+		this.winner = winner;
+		this.move = move;
+	}
+
+	/**
+	 * Returns the number of the snapshot within the model, which grows with every published change.
+	 * @return long the version
+	 */
+	public long getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Returns the amount of stones in the given pit.
+	 * @param pit the pit to check
+	 * @return int the amount of stones
+	 */
+	public int getStonesInPit(int pit)
+	{
+		return pits[pit];
+	}
+
+	/**
+	 * Returns a copy of the stones in every pit.
+	 * @return int[] the board
+	 */
+	public int[] getBoard()
+	{
+		return pits.clone();
+	}
+
+	/**
+	 * Returns the player to move, or PLAYER_NONE if no game is running.
+	 * @return int the player
+	 */
+	public int getPlayerTurn()
+	{
+		return turn;
+	}
+
+	/**
+	 * Returns the winning player, or PLAYER_NONE while the game is not won.
+	 * @return int the winner
+	 */
+	public int getWinner()
+	{
+		return winner;
+	}
+
+	/**
+	 * Returns the recorded move that led to this snapshot, or null if the snapshot was published
+	 * for anything else, such as a new game, an undo, or a move that was not recorded for animation.
+	 * @return MoveTimeline the move
+	 */
+	public MoveTimeline getLastMove()
+	{
+		return move;
+	}
+}
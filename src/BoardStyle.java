@@ -37,6 +37,25 @@ public interface BoardStyle {
 	 * @param addition boolean if this label's dimension based positioning should be added to x and y, or subtracted from them.
 	 */
 	void drawBoardMancalaScoreString(Graphics g, String score, int centerx, int centery, boolean addition);
+	/**
+	 * Draws a stone amount at the center of x and y, for the normal pit, looking the same as
+	 * drawPitStoneAmountString with the amount as a string, without building the string.
+	 * @param g Graphics context
+	 * @param amount the stone amount to draw
+	 * @param centerx the center x position to draw at
+	 * @param centery the center y position to draw at
+	 */
+	void drawPitStoneAmount(Graphics g, int amount, int centerx, int centery);
+	/**
+	 * Draws a score for the mancala pit at the center of x and y, looking the same as
+	 * drawBoardMancalaScoreString with the score as a string, without building the string.
+	 * @param g Graphics context
+	 * @param score score of the pit
+	 * @param centerx the center x coordinate to draw at
+	 * @param centery the center y coordinate to draw at
+	 * @param addition boolean if this label's dimension based positioning should be added to x and y, or subtracted from them.
+	 */
+	void drawBoardMancalaScore(Graphics g, int score, int centerx, int centery, boolean addition);
 	/**
 	 * Draws a player label for the board with the given string at x and y, and
 	 * will also draw a graphic to signify that this player is currently
@@ -0,0 +1,16 @@
+/**
+ * The board style source interface describes anything that can tell the board
+ * and pit panels which board style to draw themselves with, such as the frame,
+ * or an offscreen renderer when no display is available.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public interface BoardStyleSource {
+	/**
+	 * Returns the board style to draw with.
+	 * @return BoardStyle the current style
+	 */
+	BoardStyle getCurrentStyle();
+}
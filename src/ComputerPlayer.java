@@ -0,0 +1,168 @@
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+/**
+ * The ComputerPlayer listens to a MancalaModel and makes the moves of one player with an IterativeDeepeningSearch.
+ * Whenever it becomes the computer's turn a search is requested in the background, and the move is made on the thread
+ * of the game's GameExecutor once the search answers, so the thread that notified the listeners, such as the event
+ * dispatch thread, never waits on the search. If a new game or an undo was asked for, or the board changed while
+ * searching, the answer is thrown away. A search that fails is reported and not retried until the model changes
+ * again, so the computer is never left waiting on an answer that will not come. The searches only play the standard
+ * board, so the computer makes no moves on a model with any other geometry.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class ComputerPlayer implements ChangeListener
+{
+	private final MancalaModel model; //Model the computer plays on
+	private final int player; //Player the computer makes the moves of
+	private final IterativeDeepeningSearch search; //Search that chooses the moves
+	private final GameExecutor game; //Executor that makes the moves on the model
+	private final AtomicBoolean thinking; //Boolean flag on whether a search has been requested and not answered yet
+	private volatile boolean enabled; //Boolean flag on whether the computer is making moves
+
+	/**
+	 * Creates a computer player for the given player of the model of the given executor. It must be added
+	 * to the model's change listeners, and enabled, before it makes any moves.
+	 * @param game the executor that makes the moves on the model
+	 * @param player the player to make the moves of
+	 * @param search the search that chooses the moves
+	 */
+	public ComputerPlayer(GameExecutor game, int player, IterativeDeepeningSearch search)
+	{
+		this.game = game;
+		this.model = game.getModel();
+		this.player = player;
+		this.search = search;
+		thinking = new AtomicBoolean(false);
+		enabled = false;
+	}
+
+	/**
+	 * Sets whether or not the computer makes the moves of its player. Disabling it cancels a running search.
+	 * @param enabled true if the computer should make moves
+	 */
+	public void setEnabled(boolean enabled)
+	{
+		this.enabled = enabled;
+		if (enabled)
+		{
+			requestMove();
+		}
+		else
+		{
+			search.cancel();
+		}
+	}
+
+	/**
+	 * Returns true if the computer makes the moves of its player.
+	 * @return boolean true if the computer is enabled
+	 */
+	public boolean isEnabled()
+	{
+		return enabled;
+	}
+
+	/**
+	 * Returns the player the computer makes the moves of.
+	 * @return int the player
+	 */
+	public int getPlayer()
+	{
+		return player;
+	}
+
+	/**
+	 * Returns true if the computer is enabled and makes the moves of the given player,
+	 * so that the user interface should not make moves for it.
+	 * @param player the player to check
+	 * @return boolean true if the computer controls the player
+	 */
+	public boolean isControlling(int player)
+	{
+		return enabled && player == this.player;
+	}
+
+	@Override
+	public void stateChanged(ChangeEvent e)
+	{
+		requestMove();
+	}
+
+	/**
+	 * Requests a search in the background if it is the computer's turn and no search is running yet.
+	 */
+	private void requestMove()
+	{
+		BoardSnapshot snapshot = model.getSnapshot();
+		if (!enabled || model.getGeometry() != BoardGeometry.STANDARD || snapshot.getPlayerTurn() != player || !thinking.compareAndSet(false, true))
+		{
+			return;
+		}
+
+		final int[] pits = snapshot.getBoard();
+		final long generation = game.getGeneration();
+
+		CompletableFuture<Integer> answer;
+		try
+		{
+			answer = search.findBestMoveAsync(pits, player);
+		}
+		catch (RejectedExecutionException e)
+		{
+			//The search could not be started, so allow the next request
+			thinking.set(false);
+			System.err.println("The computer's search could not be started: " + e);
+			return;
+		}
+
+		answer.handleAsync(new BiFunction<Integer, Throwable, Void>()
+		{
+			@Override
+			public Void apply(Integer move, Throwable failure)
+			{
+				thinking.set(false);
+				if (failure != null)
+				{
+					//Leave the turn to the next request, such as after an undo, instead of searching the same board again
+					System.err.println("The computer's search failed: " + failure);
+					return null;
+				}
+
+				BoardSnapshot current = model.getSnapshot();
+				if (enabled && move >= 0 && game.isCurrent(generation) && current.getPlayerTurn() == player && Arrays.equals(current.getBoard(), pits))
+				{
+					model.selectPit(move);
+				}
+				else
+				{
+					//The answer is stale, so look again in case it is still the computer's turn
+					requestMove();
+				}
+				return null;
+			}
+		}, game).whenComplete(new BiConsumer<Void, Throwable>()
+		{
+			@Override
+			public void accept(Void result, Throwable failure)
+			{
+				//The answer was never handled, such as when the game's executor refused it, so allow the next request
+				if (failure != null)
+				{
+					thinking.set(false);
+					System.err.println("The computer's move could not be made: " + failure);
+				}
+			}
+		});
+	}
+}
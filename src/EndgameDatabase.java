@@ -0,0 +1,458 @@
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The EndgameDatabase holds the exact value of every position with a given number of stones or fewer left in play,
+ * solved by retrograde analysis. The value of a position is how many more stones the player to move will get into their
+ * mancala than the opponent gets into theirs from that position to the end of the game, with both playing perfectly.
+ * The stones already in the mancalas do not change what can happen, so they are not part of the position.
+ * <br>
+ * A position is stored from the point of view of the player to move, with the mover's six pits followed by the opponent's
+ * six pits, so a position and its mirror image with the other player to move share one entry. Every distribution of k stones
+ * over the twelve pits is ranked with the combinatorial number system, and the positions with k stones follow those with
+ * fewer, so a position's index is computed in a few table lookups and every value is one byte.
+ * <br>
+ * Positions are solved in order of stones in play, then of how far the stones are from their owner's mancala. A move either
+ * puts stones into a mancala or moves some of the mover's stones closer to it, so every position a move leads to is solved
+ * before the position itself, and all positions at the same distance are solved in parallel. A saved database is opened by
+ * memory mapping the file, so it loads right away and lookups read the value straight from the file.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class EndgameDatabase
+{
+	/**
+	 * The most stones in play a database can be generated for.
+	 */
+	public static final int MAX_STONES = 20;
+	private static final int MAGIC = 0x4D4E4B45; //File signature
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 16; //Magic, version, stones and amount of entries
+	private static final int PITS = 12; //Normal pits in a position
+	private static final int SIDE = PITS / 2;
+	private static final int SOLVE_GRAIN = 4096; //Amount of positions a solving task handles without splitting
+	private static final long[][] CUMULATIVE = new long[PITS + 1][MAX_STONES + 2]; //Ways to put up to n stones into m pits
+	private final ByteBuffer values; //Value of every position, by index
+	private final int maxStones; //Most stones in play of a position in the database
+
+	static
+	{
+		for (int m = 0; m <= PITS; m++)
+		{
+			for (int n = 0; n <= MAX_STONES + 1; n++)
+			{
+				CUMULATIVE[m][n] = binomial(n + m, m);
+			}
+		}
+	}
+
+	private EndgameDatabase(ByteBuffer values, int maxStones)
+	{
+		this.values = values;
+		this.maxStones = maxStones;
+	}
+
+	/**
+	 * Returns the most stones in play of a position in the database.
+	 * @return int the amount of stones
+	 */
+	public int getMaxStones()
+	{
+		return maxStones;
+	}
+
+	/**
+	 * Returns the amount of positions in the database.
+	 * @return long the amount of positions
+	 */
+	public long getSize()
+	{
+		return positionsUpTo(maxStones);
+	}
+
+	/**
+	 * Returns true if the given board has few enough stones in play to be in the database.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @return boolean true if the board is in the database
+	 */
+	public boolean contains(int[] pits)
+	{
+		return countStonesInPlay(pits) <= maxStones;
+	}
+
+	/**
+	 * Returns how many more stones the given player will get into their mancala than the opponent
+	 * from the given board to the end of the game, with both players playing perfectly.
+	 * The board must be in the database.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @return int the net amount of stones the player to move will gain
+	 */
+	public int getValue(int[] pits, int player)
+	{
+		return values.get(indexOf(pits, player));
+	}
+
+	/**
+	 * Writes the database to the given file, so it can be opened with load.
+	 * @param file the file to write
+	 * @throws IOException if the file can not be written
+	 */
+	public void save(File file) throws IOException
+	{
+		FileOutputStream out = new FileOutputStream(file);
+		try
+		{
+			FileChannel channel = out.getChannel();
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC).putInt(VERSION).putInt(maxStones).putInt((int) getSize());
+			header.flip();
+			channel.write(header);
+
+			ByteBuffer data = values.duplicate();
+			data.clear();
+			while (data.hasRemaining())
+			{
+				channel.write(data);
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/**
+	 * Opens a database written by save by memory mapping the file.
+	 * @param file the file to open
+	 * @return EndgameDatabase the database
+	 * @throws IOException if the file can not be read or is not an endgame database
+	 */
+	public static EndgameDatabase load(File file) throws IOException
+	{
+		RandomAccessFile in = new RandomAccessFile(file, "r");
+		try
+		{
+			FileChannel channel = in.getChannel();
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			while (header.hasRemaining() && channel.read(header) >= 0)
+			{
+			}
+			header.flip();
+
+			if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION)
+			{
+				throw new IOException("Not an endgame database: " + file);
+			}
+			int stones = header.getInt();
+			int size = header.getInt();
+			if (stones < 0 || stones > MAX_STONES || size != positionsUpTo(stones) || channel.size() < HEADER_SIZE + (long) size)
+			{
+				throw new IOException("Corrupt endgame database: " + file);
+			}
+
+			//The mapping stays valid after the channel is closed
+			return new EndgameDatabase(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, size), stones);
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	/**
+	 * Solves every position with the given amount of stones or fewer in play, on the given amount of threads.
+	 * @param maxStones the most stones in play, at most MAX_STONES
+	 * @param threads the amount of threads
+	 * @return EndgameDatabase the solved database, held in memory
+	 */
+	public static EndgameDatabase generate(int maxStones, int threads)
+	{
+		if (maxStones < 0 || maxStones > MAX_STONES)
+		{
+			throw new IllegalArgumentException("Endgame database stones out of range: " + maxStones);
+		}
+
+		byte[] values = new byte[(int) positionsUpTo(maxStones)];
+		ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+		try
+		{
+			int[] pits = new int[PITS];
+			for (int stones = 1; stones <= maxStones; stones++)
+			{
+				//Sort the positions with this many stones by the distance of their stones from the mancalas
+				int offset = (int) positionsUpTo(stones - 1);
+				int count = (int) (positionsUpTo(stones) - offset);
+				int maxDistance = stones * SIDE;
+				int[] levelStart = new int[maxDistance + 2];
+				int[] distances = new int[count];
+				for (int i = 0; i < count; i++)
+				{
+					unrank(i, stones, pits);
+					distances[i] = getDistance(pits);
+					levelStart[distances[i] + 1]++;
+				}
+				for (int d = 0; d <= maxDistance; d++)
+				{
+					levelStart[d + 1] += levelStart[d];
+				}
+				int[] order = new int[count];
+				int[] next = levelStart.clone();
+				for (int i = 0; i < count; i++)
+				{
+					order[next[distances[i]]++] = i;
+				}
+
+				for (int d = 0; d <= maxDistance; d++)
+				{
+					if (levelStart[d] < levelStart[d + 1])
+					{
+						pool.invoke(new SolveTask(values, order, levelStart[d], levelStart[d + 1], stones, offset));
+					}
+				}
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		return new EndgameDatabase(ByteBuffer.wrap(values), maxStones);
+	}
+
+	/**
+	 * Generates a database and saves it.
+	 * @param args the most stones in play, the file to write, and optionally the amount of threads
+	 * @throws IOException if the file can not be written
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 2)
+		{
+			System.out.println("Usage: java EndgameDatabase <max stones> <file> [threads]");
+			return;
+		}
+
+		int stones = Integer.parseInt(args[0]);
+		File file = new File(args[1]);
+		int threads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+		long start = System.nanoTime();
+		EndgameDatabase database = generate(stones, threads);
+		System.out.printf("Solved %d positions with up to %d stones in %.1f s%n", database.getSize(), stones, (System.nanoTime() - start) / 1e9);
+		database.save(file);
+
+		start = System.nanoTime();
+		load(file);
+		System.out.printf("Saved to %s, loads in %.2f ms%n", file, (System.nanoTime() - start) / 1e6);
+	}
+
+	/**
+	 * Returns the value of the given position, from the values of the positions its moves lead to.
+	 */
+	private static int solve(byte[] values, int[] position, int[] board)
+	{
+		int best = Integer.MIN_VALUE;
+		for (int pit = 0; pit < SIDE; pit++)
+		{
+			if (position[pit] == 0)
+			{
+				continue;
+			}
+
+			//Make the move with player A to move and empty mancalas, so the mancalas hold what the move gained
+			toBoard(position, board);
+			int result = MancalaRules.applyMove(board, pit);
+			int next = MancalaRules.getNextTurn(MancalaModel.PLAYER_A, result);
+			int value = board[MancalaModel.PIT_A_MANCALA] - board[MancalaModel.PIT_B_MANCALA];
+			if (next == MancalaModel.PLAYER_A)
+			{
+				value += values[indexOf(board, MancalaModel.PLAYER_A)];
+			}
+			else if (next == MancalaModel.PLAYER_B)
+			{
+				value -= values[indexOf(board, MancalaModel.PLAYER_B)];
+			}
+
+			best = Math.max(best, value);
+		}
+
+		if (best == Integer.MIN_VALUE)
+		{
+			//The mover has no stones, which only happens once the game is over, so the opponent keeps theirs
+			int value = 0;
+			for (int i = 0; i < PITS; i++)
+			{
+				value += (i < SIDE) ? position[i] : -position[i];
+			}
+			return value;
+		}
+
+		return best;
+	}
+
+	/**
+	 * Returns the index of the given board with the given player to move.
+	 */
+	private static int indexOf(int[] board, int player)
+	{
+		int mover = MancalaRules.getFirstPitForPlayer(player);
+		int opponent = MancalaRules.getFirstPitForPlayer(MancalaRules.getOppositePlayer(player));
+		int remaining = countStonesInPlay(board);
+		long index = positionsUpTo(remaining - 1);
+		for (int i = 0; i < PITS - 1; i++)
+		{
+			int stones = (i < SIDE) ? board[mover + i] : board[opponent + i - SIDE];
+			index += rankStep(PITS - 1 - i, remaining, stones);
+			remaining -= stones;
+		}
+
+		return (int) index;
+	}
+
+	/**
+	 * Writes the position with the given rank among those with the given amount of stones into the given pits.
+	 */
+	private static void unrank(long rank, int stones, int[] pits)
+	{
+		int remaining = stones;
+		for (int i = 0; i < PITS - 1; i++)
+		{
+			int m = PITS - 1 - i;
+			int value = 0;
+			while (value < remaining && rankStep(m, remaining, value + 1) <= rank)
+			{
+				value++;
+			}
+			rank -= rankStep(m, remaining, value);
+			pits[i] = value;
+			remaining -= value;
+		}
+		pits[PITS - 1] = remaining;
+	}
+
+	/**
+	 * Returns the amount of positions that come before a pit holding the given stones, when the given stones remain
+	 * to be placed in that pit and the given amount of pits after it.
+	 */
+	private static long rankStep(int pitsAfter, int remaining, int stones)
+	{
+		return CUMULATIVE[pitsAfter][remaining] - CUMULATIVE[pitsAfter][remaining - stones];
+	}
+
+	/**
+	 * Returns the amount of positions with up to the given amount of stones in play.
+	 */
+	private static long positionsUpTo(int stones)
+	{
+		return (stones < 0) ? 0 : CUMULATIVE[PITS][stones];
+	}
+
+	/**
+	 * Returns the total distance of the stones of the given position from their owner's mancala.
+	 */
+	private static int getDistance(int[] position)
+	{
+		int distance = 0;
+		for (int i = 0; i < SIDE; i++)
+		{
+			distance += (position[i] + position[SIDE + i]) * (SIDE - i);
+		}
+
+		return distance;
+	}
+
+	/**
+	 * Writes the given position into the given board with empty mancalas, the mover's pits being player A's.
+	 */
+	private static void toBoard(int[] position, int[] board)
+	{
+		for (int i = 0; i < SIDE; i++)
+		{
+			board[MancalaModel.PIT_A01 + i] = position[i];
+			board[MancalaModel.PIT_B01 + i] = position[SIDE + i];
+		}
+		board[MancalaModel.PIT_A_MANCALA] = 0;
+		board[MancalaModel.PIT_B_MANCALA] = 0;
+	}
+
+	/**
+	 * Returns the amount of stones in the normal pits of the given board.
+	 */
+	private static int countStonesInPlay(int[] pits)
+	{
+		int stones = 0;
+		for (int i = 0; i < SIDE; i++)
+		{
+			stones += pits[MancalaModel.PIT_A01 + i] + pits[MancalaModel.PIT_B01 + i];
+		}
+
+		return stones;
+	}
+
+	/**
+	 * Returns n choose k.
+	 */
+	private static long binomial(int n, int k)
+	{
+		long result = 1;
+		for (int i = 1; i <= k; i++)
+		{
+			result = result * (n - k + i) / i;
+		}
+
+		return result;
+	}
+
+	/**
+	 * The SolveTask solves a range of positions that are all at the same distance, splitting it over the pool.
+	 */
+	@SuppressWarnings("serial")
+	private static class SolveTask extends RecursiveAction
+	{
+		private final byte[] values; //Values of every position
+		private final int[] order; //Ranks of the positions of the level, sorted by distance
+		private final int from; //First entry of the order to solve
+		private final int to; //Entry of the order after the last one to solve
+		private final int stones; //Stones in play of the positions
+		private final int offset; //Index of the first position with this many stones
+
+		SolveTask(byte[] values, int[] order, int from, int to, int stones, int offset)
+		{
+			this.values = values;
+			this.order = order;
+			this.from = from;
+			this.to = to;
+			this.stones = stones;
+			this.offset = offset;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from > SOLVE_GRAIN)
+			{
+				int middle = (from + to) >>> 1;
+				invokeAll(new SolveTask(values, order, from, middle, stones, offset),
+						new SolveTask(values, order, middle, to, stones, offset));
+				return;
+			}
+
+			int[] position = new int[PITS];
+			int[] board = new int[MancalaModel.TOTAL_PITS];
+			for (int i = from; i < to; i++)
+			{
+				unrank(order[i], stones, position);
+				values[offset + order[i]] = (byte) solve(values, position, board);
+			}
+		}
+	}
+}
@@ -0,0 +1,208 @@
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The GameExecutor owns every change made to a MancalaModel. Moves, new games, undos and settings are run as tasks,
+ * one after another, on a single thread of its own, so two changes never overlap and the thread that asked for a
+ * change, such as the event dispatch thread, never waits on one.
+ * <br>
+ * Every new game and undo starts a new generation. A move is tied to the generation it was asked for in, and is
+ * skipped if a new game or an undo was asked for before it got to run, so a restart supersedes every move that was
+ * still waiting, at once. A move is also skipped if the selected pit does not belong to the player to move by then,
+ * such as a second click made before the first move was shown.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class GameExecutor implements Executor
+{
+	private final MancalaModel model; //Model the changes are made to
+	private final ExecutorService executor; //Thread every change is made on
+	private final AtomicLong generation; //Generation of the game, counting new games and undos
+
+	/**
+	 * Creates an executor for the given model. Nothing else should change the model once the executor is in use.
+	 * @param model the model to change
+	 */
+	public GameExecutor(MancalaModel model)
+	{
+		this.model = model;
+		executor = Executors.newSingleThreadExecutor(new ThreadFactory()
+		{
+			@Override
+			public Thread newThread(Runnable r)
+			{
+				Thread thread = new Thread(r, "Mancala Game");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		generation = new AtomicLong(0);
+	}
+
+	/**
+	 * Returns the model the changes are made to.
+	 * @return MancalaModel the model
+	 */
+	public MancalaModel getModel()
+	{
+		return model;
+	}
+
+	/**
+	 * Returns the current generation of the game, which grows whenever a new game or an undo is asked for.
+	 * @return long the generation
+	 */
+	public long getGeneration()
+	{
+		return generation.get();
+	}
+
+	/**
+	 * Returns true if no new game or undo was asked for since the given generation.
+	 * @param generation the generation to check
+	 * @return boolean true if the generation is still the current one
+	 */
+	public boolean isCurrent(long generation)
+	{
+		return this.generation.get() == generation;
+	}
+
+	/**
+	 * Selects the given pit in the current generation.
+	 * @param pit the pit to select
+	 * @return Future the task, which finishes once the move was made or skipped
+	 */
+	public Future<?> selectPit(int pit)
+	{
+		return selectPit(pit, generation.get());
+	}
+
+	/**
+	 * Selects the given pit, unless a new game or an undo was asked for since the given generation,
+	 * or the pit does not belong to the player to move by the time the move runs.
+	 * @param pit the pit to select
+	 * @param generation the generation the move was chosen in
+	 * @return Future the task, which finishes once the move was made or skipped
+	 */
+	public Future<?> selectPit(final int pit, final long generation)
+	{
+		return submit(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				if (model.getOwnerOfPit(pit) == model.getPlayerTurn())
+				{
+					model.selectPit(pit);
+				}
+			}
+		}, generation);
+	}
+
+	/**
+	 * Runs the given change on the game thread, unless a new game or an undo was asked for since the given generation.
+	 * @param change the change to make
+	 * @param generation the generation the change was chosen in
+	 * @return Future the task, which finishes once the change was made or skipped
+	 */
+	public Future<?> submit(final Runnable change, final long generation)
+	{
+		return executor.submit(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				if (isCurrent(generation))
+				{
+					change.run();
+				}
+			}
+		});
+	}
+
+	/**
+	 * Runs the given change on the game thread whatever the generation, so it can check the model
+	 * and make a move in one step, without another change coming in between.
+	 * @param change the change to make
+	 */
+	@Override
+	public void execute(Runnable change)
+	{
+		executor.execute(change);
+	}
+
+	/**
+	 * Starts a new game, superseding every move that has not run yet.
+	 * @return Future the task, which finishes once the game was started
+	 */
+	public Future<?> startGame()
+	{
+		generation.incrementAndGet();
+		return executor.submit(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				model.startGame();
+			}
+		});
+	}
+
+	/**
+	 * Undoes the last turn, superseding every move that has not run yet.
+	 * @return Future the task, which finishes once the turn was undone, or the undo was refused
+	 */
+	public Future<?> undoTurn()
+	{
+		generation.incrementAndGet();
+		return executor.submit(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				model.undoTurn();
+			}
+		});
+	}
+
+	/**
+	 * Undoes every move back to the given player's last turn, superseding every move that has not run yet.
+	 * @param player the player whose last move should be undone
+	 * @return Future the task, which finishes once the turn was undone, or the undo was refused
+	 */
+	public Future<?> undoTurn(final int player)
+	{
+		generation.incrementAndGet();
+		return executor.submit(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				model.undoTurn(player);
+			}
+		});
+	}
+
+	/**
+	 * Sets the amount of stones every pit starts the next game with.
+	 * @param count the amount of stones
+	 * @return Future the task, which finishes once the amount was set
+	 */
+	public Future<?> setInitialStoneCount(final int count)
+	{
+		return executor.submit(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				model.setInitialStoneCount(count);
+			}
+		});
+	}
+}
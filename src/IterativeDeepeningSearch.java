@@ -0,0 +1,294 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+/**
+ * The IterativeDeepeningSearch is a computer player that answers within a fixed time instead of at a fixed depth.
+ * It runs an AlphaBetaSearch one ply deeper at a time until the time limit is reached, and returns the best move of the
+ * deepest search that finished, or of the search that was cut off if it already found a better move. The transposition
+ * table carries the best move of every iteration into the next, so the searches that are cut off start with the best move.
+ * <br>
+ * Searches can be made on a background thread, with the move delivered through a CompletableFuture, so callers such as
+ * the user interface never wait on a search. The time limit of a background search starts when it is requested, not when
+ * it starts running, so every answer arrives within the limit even while earlier requests are still queued. Searches stop
+ * cooperatively: cancel makes the running and queued searches stop at their next check and answer with the best move found so far.
+ * <br>
+ * If an OpeningBook is set, positions in the book are answered with the book move without searching.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class IterativeDeepeningSearch implements MancalaEngine
+{
+	/**
+	 * The default time limit of a search, in milliseconds.
+	 */
+	public static final long DEFAULT_TIME_LIMIT = 1000;
+	private final AlphaBetaSearch search; //Search that every iteration is made with
+	private final ExecutorService executor; //Thread background searches run on
+	private volatile OpeningBook book; //Book of opening moves, or null to search every position
+	private volatile int cancelCount; //Amount of times searches have been cancelled, searches requested before a cancel stop
+	private volatile long timeLimit; //Time limit of a search, in milliseconds
+	private volatile int maxDepth; //Deepest iteration that is searched
+	private volatile int completedDepth; //Depth of the deepest iteration the last search finished
+	private volatile int lastScore; //Score of the move chosen by the last search
+	private volatile long lastNodes; //Amount of nodes visited by the last search, over every iteration
+
+	/**
+	 * Creates a search with its own AlphaBetaSearch and transposition table.
+	 */
+	public IterativeDeepeningSearch()
+	{
+		this(new AlphaBetaSearch());
+	}
+
+	/**
+	 * Creates a search that makes its iterations with the given AlphaBetaSearch.
+	 * The AlphaBetaSearch should not be used by anything else while this search is in use.
+	 * @param search the search to deepen
+	 */
+	public IterativeDeepeningSearch(AlphaBetaSearch search)
+	{
+		this.search = search;
+		executor = Executors.newSingleThreadExecutor(new ThreadFactory()
+		{
+			@Override
+			public Thread newThread(Runnable r)
+			{
+				Thread thread = new Thread(r, "Mancala Search");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		timeLimit = DEFAULT_TIME_LIMIT;
+		maxDepth = AlphaBetaSearch.MAX_DEPTH;
+	}
+
+	/**
+	 * Sets the time a search may take, in milliseconds.
+	 * @param millis the time limit
+	 */
+	public void setTimeLimit(long millis)
+	{
+		timeLimit = Math.max(0, millis);
+	}
+
+	/**
+	 * Returns the time a search may take, in milliseconds.
+	 * @return long the time limit
+	 */
+	public long getTimeLimit()
+	{
+		return timeLimit;
+	}
+
+	/**
+	 * Sets the deepest iteration that is searched, so easy positions can answer before the time limit.
+	 * @param depth the depth, between 1 and AlphaBetaSearch.MAX_DEPTH
+	 */
+	public void setMaxDepth(int depth)
+	{
+		maxDepth = Math.max(1, Math.min(depth, AlphaBetaSearch.MAX_DEPTH));
+	}
+
+	/**
+	 * Returns the deepest iteration that is searched.
+	 * @return int the depth
+	 */
+	public int getMaxDepth()
+	{
+		return maxDepth;
+	}
+
+	/**
+	 * Sets the opening book that positions are looked up in before searching.
+	 * @param book the book, or null to search every position
+	 */
+	public void setOpeningBook(OpeningBook book)
+	{
+		this.book = book;
+	}
+
+	/**
+	 * Returns the opening book that positions are looked up in before searching.
+	 * @return OpeningBook the book, or null if there is none
+	 */
+	public OpeningBook getOpeningBook()
+	{
+		return book;
+	}
+
+	/**
+	 * Returns the depth of the deepest iteration the last search finished, or 0 if the move came from the opening book.
+	 * @return int the depth
+	 */
+	public int getCompletedDepth()
+	{
+		return completedDepth;
+	}
+
+	/**
+	 * Returns the score of the move chosen by the last search, from the
+	 * point of view of the player who was to move.
+	 * @return int the score
+	 */
+	public int getLastScore()
+	{
+		return lastScore;
+	}
+
+	/**
+	 * Returns the amount of nodes visited by the last search, over every iteration.
+	 * @return long the amount of nodes
+	 */
+	public long getNodesSearched()
+	{
+		return lastNodes;
+	}
+
+	/**
+	 * Returns the best move for the player whose turn it is in the given model, searching until the time limit.
+	 * @param model the model to find a move for
+	 * @return int the pit to select, or -1 if there is no move to make
+	 */
+	public int findBestMove(MancalaModel model)
+	{
+		return findBestMove(copyPits(model), model.getPlayerTurn());
+	}
+
+	/**
+	 * Returns the best move for the given player on the given board, searching until the time limit.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @return int the pit to select, or -1 if there is no move to make
+	 */
+	public int findBestMove(int[] pits, int player)
+	{
+		return deepen(pits, player, System.nanoTime() + timeLimit * 1000000L, cancelCount);
+	}
+
+	/**
+	 * Starts searching for the best move for the player whose turn it is in the given model on a background
+	 * thread, and returns right away. The board is copied before returning, so the model may change meanwhile.
+	 * @param model the model to find a move for
+	 * @return CompletableFuture the future that completes with the pit to select, or -1 if there is no move to make
+	 */
+	public CompletableFuture<Integer> findBestMoveAsync(MancalaModel model)
+	{
+		return findBestMoveAsync(copyPits(model), model.getPlayerTurn());
+	}
+
+	/**
+	 * Starts searching for the best move for the given player on the given board on a background
+	 * thread, and returns right away. The board is copied before returning.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @return CompletableFuture the future that completes with the pit to select, or -1 if there is no move to make
+	 */
+	public CompletableFuture<Integer> findBestMoveAsync(int[] pits, final int player)
+	{
+		final int[] board = pits.clone();
+		final long deadline = System.nanoTime() + timeLimit * 1000000L;
+		final int cancels = cancelCount;
+
+		return CompletableFuture.supplyAsync(new Supplier<Integer>()
+		{
+			@Override
+			public Integer get()
+			{
+				return deepen(board, player, deadline, cancels);
+			}
+		}, executor);
+	}
+
+	/**
+	 * Makes the running search and every search requested so far stop as soon as possible,
+	 * and answer with the best move they found. Can be called from any thread.
+	 */
+	public void cancel()
+	{
+		cancelCount++;
+		search.cancel();
+	}
+
+	/**
+	 * Stops the background thread. Searches can not be requested afterwards.
+	 */
+	public void shutdown()
+	{
+		executor.shutdown();
+	}
+
+	/**
+	 * Searches the given board one ply deeper at a time until the deadline passes or the search is cancelled.
+	 * The first iteration is always finished, so a valid move is returned even if no time is left.
+	 */
+	private synchronized int deepen(int[] pits, int player, long deadline, int cancels)
+	{
+		completedDepth = 0;
+		lastScore = 0;
+		lastNodes = 0;
+
+		OpeningBook openingBook = book;
+		if (openingBook != null)
+		{
+			int move = openingBook.getMove(pits, player);
+			if (move >= 0)
+			{
+				lastScore = openingBook.getScore(pits, player);
+				return move;
+			}
+		}
+
+		int bestMove = -1;
+		search.setDeadline(deadline);
+		for (int depth = 1; depth <= maxDepth; depth++)
+		{
+			if (depth > 1 && (cancels != cancelCount || System.nanoTime() - deadline >= 0))
+			{
+				break;
+			}
+
+			search.setMaxDepth(depth);
+			int move = search.findBestMove(pits, player);
+			lastNodes += search.getNodesSearched();
+
+			if (!search.wasAborted())
+			{
+				bestMove = move;
+				lastScore = search.getLastScore();
+				completedDepth = depth;
+			}
+			else
+			{
+				//Cut off, the move is only better than the last iteration's if a root move was finished
+				if (bestMove == -1 || search.getMovesCompleted() > 0)
+				{
+					bestMove = move;
+					lastScore = search.getLastScore();
+				}
+				break;
+			}
+		}
+		search.clearDeadline();
+
+		return bestMove;
+	}
+
+	/**
+	 * Returns a copy of the board of the given model.
+	 */
+	private static int[] copyPits(MancalaModel model)
+	{
+		int[] pits = new int[MancalaModel.TOTAL_PITS];
+		for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+		{
+			pits[i] = model.getStonesInPit(i);
+		}
+
+		return pits;
+	}
+}
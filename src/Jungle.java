@@ -47,9 +47,43 @@ public class Jungle implements BoardStyle
 	private static final int FONT_SCORE_SIZE = 16;
 	private static final int ROUNDX = 25; //How much to round the horizontal corners for round rects in this style
 	private static final int ROUNDY = 25; //How much to round the vertical corners for round rects in this style
+	private static final Font FONT_TITLE = new Font(FONT_TITLE_FAMILY, FONT_TITLE_WEIGHT, FONT_TITLE_SIZE);
+	private static final Font FONT_PLAYERLABEL = new Font(FONT_PLAYERLABEL_FAMILY, FONT_PLAYERLABEL_WEIGHT, FONT_PLAYERLABEL_SIZE);
+	private static final Font FONT_STONEAMOUNT = new Font(FONT_STONEAMOUNT_FAMILY, FONT_STONEAMOUNT_WEIGHT, FONT_STONEAMOUNT_SIZE);
+	private static final Font FONT_SCORE = new Font(FONT_SCORE_FAMILY, FONT_SCORE_WEIGHT, FONT_SCORE_SIZE);
+	private static final Color COLOR_TEXT_SHADOW = COLOR_PIT.darker(); //Shadow of the stone amounts and scores
+	private static final Color COLOR_TITLE_OUTLINE = COLOR_BOARD.darker(); //Outer outline of the title
+	private static final Color COLOR_TITLE_INNER_OUTLINE = COLOR_LABELSTATUS.brighter().brighter().brighter(); //Inner outline of the title
+	private static final int[] STONEAMOUNT_SHADOW_OFFSETS = { 3, 2, 1 }; //Offsets of the stone amount shadows
+	private static final int[] SCORE_SHADOW_OFFSETS = { 2 }; //Offsets of the score shadows
+	private static final int SPRITE_MARGIN = 16; //Most a stone's shadow or a pit highlight's glow reaches past its size
+	private DigitAtlas stoneAmountDigits; //Stone amounts with their shadows, or null until first drawn
+	private DigitAtlas scoreDigits; //Scores with their shadows, or null until first drawn
+	private final SpriteAtlas stoneSprites = new SpriteAtlas(new SpriteAtlas.Painter() {
+		@Override
+		public void paint(Graphics2D g2, int w, int h)
+		{
+			paintStone(g2, 0, 0, w, h);
+		}
+	}, SPRITE_MARGIN); //Pre-rendered stones for every size
+	private final SpriteAtlas highlightSprites = new SpriteAtlas(new SpriteAtlas.Painter() {
+		@Override
+		public void paint(Graphics2D g2, int w, int h)
+		{
+			paintPitHighlight(g2, w, h);
+		}
+	}, SPRITE_MARGIN); //Pre-rendered pit highlights for every size
 	
 	@Override
 	public void drawPitHighlight(Graphics g, int w, int h)
+	{
+		highlightSprites.draw(g, 0, 0, w, h);
+	}
+	
+	/**
+	 * Paints the pit highlight that is pre-rendered by drawPitHighlight.
+	 */
+	private void paintPitHighlight(Graphics g, int w, int h)
 	{
 		Graphics2D g2 = (Graphics2D) g;
 		
@@ -68,7 +102,7 @@ public class Jungle implements BoardStyle
 	{
 		Graphics2D g2 = (Graphics2D) g;
 		
-		Font font = new Font(FONT_STONEAMOUNT_FAMILY, FONT_STONEAMOUNT_WEIGHT, FONT_STONEAMOUNT_SIZE);
+		Font font = FONT_STONEAMOUNT;
 		FontMetrics metrics = g2.getFontMetrics(font);
 
 		int fwidth = metrics.stringWidth(amount);
@@ -77,7 +111,7 @@ public class Jungle implements BoardStyle
 		//Draw Shadows with using a color thats darker than pit		
 		int shadowOffset = 3;
 		
-		g2.setColor(getPitColor().darker());
+		g2.setColor(COLOR_TEXT_SHADOW);
 		g2.setFont(font);
 		
 		g2.drawString(amount, centerx - (fwidth / 2) + shadowOffset, centery + (fheight / 4) + shadowOffset);
@@ -96,7 +130,7 @@ public class Jungle implements BoardStyle
 	{
 		Graphics2D g2 = (Graphics2D) g;
 		
-		Font font = new Font(FONT_SCORE_FAMILY, FONT_SCORE_WEIGHT, FONT_SCORE_SIZE);
+		Font font = FONT_SCORE;
 		FontMetrics metrics = g2.getFontMetrics(font);
 
 		g2.setFont(font);
@@ -118,19 +152,48 @@ public class Jungle implements BoardStyle
 		
 		//Draw shadows using a color darker than pit
 		int shadowOffset = 2;
-		g2.setColor(getPitColor().darker());
+		g2.setColor(COLOR_TEXT_SHADOW);
 		g2.drawString(score, centerx - (fwidth / 2) + shadowOffset, centery + vOffset + shadowOffset);
 		//Draw label using label color
 		g2.setColor(getLabelScoreColor());
 		g2.drawString(score, centerx - (fwidth / 2), centery + vOffset);
 	}
 	
+	@Override
+	public void drawPitStoneAmount(Graphics g, int amount, int centerx, int centery)
+	{
+		if (stoneAmountDigits == null)
+		{
+			stoneAmountDigits = new DigitAtlas(FONT_STONEAMOUNT, getStoneColor(), COLOR_TEXT_SHADOW, STONEAMOUNT_SHADOW_OFFSETS);
+		}
+		
+		int fwidth = stoneAmountDigits.getWidth(amount);
+		int fheight = stoneAmountDigits.getHeight();
+		
+		stoneAmountDigits.draw(g, amount, centerx - (fwidth / 2), centery + (fheight / 4));
+	}
+	
+	@Override
+	public void drawBoardMancalaScore(Graphics g, int score, int centerx, int centery, boolean addition)
+	{
+		if (scoreDigits == null)
+		{
+			scoreDigits = new DigitAtlas(FONT_SCORE, getLabelScoreColor(), COLOR_TEXT_SHADOW, SCORE_SHADOW_OFFSETS);
+		}
+		
+		int fwidth = scoreDigits.getWidth(score);
+		int fheight = scoreDigits.getHeight();
+		int vOffset = addition ? fheight : -(fheight / 2); //vertical offset
+		
+		scoreDigits.draw(g, score, centerx - (fwidth / 2), centery + vOffset);
+	}
+	
 	@Override
 	public void drawBoardPlayerLabel(Graphics g, String label, int x, int y, boolean selected, boolean addition)
 	{
 		Graphics2D g2 = (Graphics2D) g;
 		
-		Font font = new Font(FONT_PLAYERLABEL_FAMILY, FONT_PLAYERLABEL_WEIGHT, FONT_PLAYERLABEL_SIZE);
+		Font font = FONT_PLAYERLABEL;
 		FontMetrics metrics = g2.getFontMetrics(font);
 
 		g2.setFont(font);
@@ -182,14 +245,14 @@ public class Jungle implements BoardStyle
 	{
 		Graphics2D g2 = (Graphics2D) g;
 		
-		Font font = new Font(FONT_TITLE_FAMILY, FONT_TITLE_WEIGHT, FONT_TITLE_SIZE);
+		Font font = FONT_TITLE;
 		FontMetrics metrics = g2.getFontMetrics(font);
 		int fwidth = metrics.stringWidth(title);
 		int fheight = metrics.getHeight();
 		
 		//Draw Title Outlines
 		int offset = 2; //outline offsets
-		g2.setColor(getBoardColor().darker());
+		g2.setColor(COLOR_TITLE_OUTLINE);
 		g2.setFont(font);
 		
 		g2.drawString(title, centerx - (fwidth / 2) - offset, centery + (fheight / 4) - offset);
@@ -198,7 +261,7 @@ public class Jungle implements BoardStyle
 		g2.drawString(title, centerx - (fwidth / 2) + offset, centery + (fheight / 4) + offset);
 		
 		offset = 1; //outline offsets
-		g2.setColor(getLabelStatusColor().brighter().brighter().brighter());
+		g2.setColor(COLOR_TITLE_INNER_OUTLINE);
 		g2.setFont(font);
 		
 		g2.drawString(title, centerx - (fwidth / 2) - offset, centery + (fheight / 4) - offset);
@@ -213,6 +276,14 @@ public class Jungle implements BoardStyle
 	
 	@Override
 	public void drawStone(Graphics g, int x, int y, int w, int h)
+	{
+		stoneSprites.draw(g, x, y, w, h);
+	}
+	
+	/**
+	 * Paints the stone that is pre-rendered by drawStone.
+	 */
+	private void paintStone(Graphics g, int x, int y, int w, int h)
 	{
 		Graphics2D g2 = (Graphics2D) g;
 		
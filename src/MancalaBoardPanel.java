@@ -1,6 +1,10 @@
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Transparency;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 
 import javax.swing.JPanel;
@@ -8,6 +12,12 @@ import javax.swing.JPanel;
 /**
  * The Mancala board panel is in charge of drawing the Mancala board, as well as
  * all of it's contained pits.
+ * <br>
+ * Everything that only changes with the style or the turn, which is the board, the
+ * title, the player labels and the empty pits, is drawn once into a background image
+ * per turn, and every paint draws that image and then just the contents of the pits.
+ * The images are drawn again when the style changes. A change of the highlighted pits, the stones
+ * or the turn can repaint just the part of the board it affects.
  * <br>Date Created: 11/13/2012
  * <br>Date Updated: 11/14/2012
  * @author Maxim Tiourin
@@ -16,7 +26,7 @@ import javax.swing.JPanel;
 @SuppressWarnings("serial")
 public class MancalaBoardPanel extends JPanel {
 	/**
-	 * Width of the board
+	 * Width of the standard board
 	 */
 	public static final int BOARD_WIDTH = 490; //490
 	/**
@@ -24,17 +34,48 @@ public class MancalaBoardPanel extends JPanel {
 	 */
 	public static final int BOARD_HEIGHT = 200; //200
 	private static final int BOARD_DRAW_PADDING = 100; //Just add some extra drawing room for BoardStyles to make things look nice
-	private MancalaFrame frame;
+	private static final int PIT_SPACING = 10; //Horizontal space between the pits and the board edges
+	private static final int PIT_REPAINT_MARGIN = 12; //Extra room around a pit that is repainted on its own, enough for the glow of a highlight
+	private BoardStyleSource styleSource; //Source of the style to draw with
+	private BoardGeometry geometry; //Layout of the pits on the board
+	private int boardWidth; //Width of the board, which fits the pits of the geometry
 	private ArrayList<MancalaPitPanel> pitPanels;
 	private int currentTurn; //Current player turn
+	private BufferedImage[] backgrounds; //Background image for every turn, indexed by the turn plus one, or null until drawn
+	private BoardStyle backgroundStyle; //Style the background images were drawn with
+	private Rectangle[] turnChangeBounds; //Part of the background that differs between two turns, indexed by both turns, or null until worked out
 	
-	public MancalaBoardPanel(MancalaFrame frame)
+	public MancalaBoardPanel(BoardStyleSource styleSource)
 	{
-		this.frame = frame;
+		this(styleSource, BoardGeometry.STANDARD);
+	}
+	
+	/**
+	 * Creates a board panel for a board with the given geometry.
+	 * @param styleSource the source of the style to draw with
+	 * @param geometry the layout of the pits on the board
+	 */
+	public MancalaBoardPanel(BoardStyleSource styleSource, BoardGeometry geometry)
+	{
+		this.styleSource = styleSource;
+		this.geometry = geometry;
+		boardWidth = (2 * MancalaPitPanel.PIT_MANCALA_WIDTH) + (geometry.getPitsPerSide() * MancalaPitPanel.PIT_NORMAL_WIDTH) + ((geometry.getPitsPerSide() + 3) * PIT_SPACING);
 		pitPanels = new ArrayList<MancalaPitPanel>();
 		currentTurn = MancalaModel.PLAYER_NONE;
+		backgrounds = new BufferedImage[3]; //PLAYER_NONE, PLAYER_A and PLAYER_B
+		backgroundStyle = null;
+		turnChangeBounds = new Rectangle[backgrounds.length * backgrounds.length];
 		
-		this.setSize(BOARD_WIDTH + BOARD_DRAW_PADDING, BOARD_HEIGHT + BOARD_DRAW_PADDING);
+		this.setSize(boardWidth + BOARD_DRAW_PADDING, BOARD_HEIGHT + BOARD_DRAW_PADDING);
+	}
+	
+	/**
+	 * Returns the width of the board, which is BOARD_WIDTH for the standard geometry
+	 * @return int the width of the board
+	 */
+	public int getBoardWidth()
+	{
+		return boardWidth;
 	}
 	
 	/**
@@ -43,6 +84,110 @@ public class MancalaBoardPanel extends JPanel {
 	public void addPitPanel(MancalaPitPanel panel)
 	{
 		pitPanels.add(panel);
+		invalidateBackgrounds();
+	}
+	
+	/**
+	 * Throws away the background images, so they are drawn again on the next paint.
+	 */
+	public void invalidateBackgrounds()
+	{
+		backgroundStyle = null;
+	}
+	
+	/**
+	 * Creates a pit panel for every pit of the board, positioned on the board, and adds them to the
+	 * panels to be drawn. Player A's pits run left to right along the bottom towards their mancala on
+	 * the right, and player B's pits run right to left along the top towards their mancala on the left.
+	 * @return MancalaPitPanel[] the pit panels, indexed by the MancalaModel pit constants
+	 */
+	public MancalaPitPanel[] createPitPanels()
+	{
+		MancalaPitPanel[] pits = new MancalaPitPanel[geometry.getTotalPits()];
+		int pitsPerSide = geometry.getPitsPerSide();
+		int mancalaA = geometry.getMancalaForPlayer(MancalaModel.PLAYER_A);
+		int mancalaB = geometry.getMancalaForPlayer(MancalaModel.PLAYER_B);
+
+		int verOffset = 10; //Vertical offsets for pits
+		int bottom = BOARD_HEIGHT - verOffset - MancalaPitPanel.PIT_NORMAL_HEIGHT; //Vertical position of player A's pits
+		for (int pit = 0; pit < pits.length; pit++)
+		{
+			MancalaPitPanel panel = new MancalaPitPanel(styleSource);
+			panel.setPlayer(geometry.getOwnerOfPit(pit));
+			if (pit == mancalaB)
+			{
+				panel.setMancala(true);
+				panel.setX(PIT_SPACING);
+				panel.setY(verOffset);
+			}
+			else if (pit == mancalaA)
+			{
+				panel.setMancala(true);
+				panel.setX((PIT_SPACING * (pitsPerSide + 2)) + MancalaPitPanel.PIT_MANCALA_WIDTH + (MancalaPitPanel.PIT_NORMAL_WIDTH * pitsPerSide));
+				panel.setY(verOffset);
+			}
+			else
+			{
+				//Column of the pit from the left, with player B's pits numbered from the right
+				int column = (pit < mancalaA) ? pit : mancalaB - 1 - pit;
+				panel.setX((PIT_SPACING * (column + 2)) + MancalaPitPanel.PIT_MANCALA_WIDTH + (MancalaPitPanel.PIT_NORMAL_WIDTH * column));
+				panel.setY((pit < mancalaA) ? bottom : verOffset);
+			}
+			pits[pit] = panel;
+		}
+
+		//Add the panels in drawing order: player B's mancala, player A's pits and mancala, then player B's pits from the left
+		addPitPanel(pits[mancalaB]);
+		for (int pit = 0; pit <= mancalaA; pit++)
+		{
+			addPitPanel(pits[pit]);
+		}
+		for (int pit = mancalaB - 1; pit > mancalaA; pit--)
+		{
+			addPitPanel(pits[pit]);
+		}
+
+		return pits;
+	}
+
+	/**
+	 * Repaints only the part of the board covered by the given pit panel, with a small
+	 * margin for styles that draw slightly past the edges of a pit.
+	 * @param pit the pit panel to repaint
+	 */
+	public void repaintPit(MancalaPitPanel pit)
+	{
+		int w = pit.isMancala() ? MancalaPitPanel.PIT_MANCALA_WIDTH : MancalaPitPanel.PIT_NORMAL_WIDTH;
+		int h = pit.isMancala() ? MancalaPitPanel.PIT_MANCALA_HEIGHT : MancalaPitPanel.PIT_NORMAL_HEIGHT;
+		repaint(pit.getX() - PIT_REPAINT_MARGIN, pit.getY() - PIT_REPAINT_MARGIN, w + (PIT_REPAINT_MARGIN * 2), h + (PIT_REPAINT_MARGIN * 2));
+	}
+	
+	/**
+	 * Repaints only the part of the board that looks different between the two given turns, such as the player
+	 * labels. The part is found by comparing the background images of both turns, once for every style.
+	 * @param oldTurn the player who's turn it was
+	 * @param newTurn the player who's turn it is now
+	 */
+	public void repaintTurnChange(int oldTurn, int newTurn)
+	{
+		if (oldTurn == newTurn)
+		{
+			return;
+		}
+		
+		BufferedImage oldImage = getBackgroundImage(oldTurn);
+		BufferedImage newImage = getBackgroundImage(newTurn);
+		int index = ((oldTurn + 1) * backgrounds.length) + newTurn + 1;
+		if (turnChangeBounds[index] == null)
+		{
+			turnChangeBounds[index] = getDifferenceBounds(oldImage, newImage);
+		}
+		
+		Rectangle bounds = turnChangeBounds[index];
+		if (!bounds.isEmpty())
+		{
+			repaint(bounds);
+		}
 	}
 	
 	/**
@@ -59,26 +204,110 @@ public class MancalaBoardPanel extends JPanel {
 	{
 		Graphics2D g2 = (Graphics2D) g;
 		
+		//Draw Board, labels and empty pits
+		g2.drawImage(getBackgroundImage(currentTurn), 0, 0, null);
+				
+		//Draw contents of pit panels
+		for (MancalaPitPanel e : pitPanels)
+		{
+			AffineTransform oldTransform = g2.getTransform();
+			g2.translate(e.getX(), e.getY());
+			e.paintContents(g2);
+			g2.setTransform(oldTransform);
+		}
+	}
+	
+	/**
+	 * Returns the background image for the given turn, drawing it first if it is not drawn with the current style yet.
+	 */
+	private BufferedImage getBackgroundImage(int turn)
+	{
+		BoardStyle style = styleSource.getCurrentStyle();
+		if (style != backgroundStyle)
+		{
+			backgrounds = new BufferedImage[backgrounds.length];
+			turnChangeBounds = new Rectangle[turnChangeBounds.length];
+			backgroundStyle = style;
+		}
+		
+		int index = turn + 1;
+		if (backgrounds[index] == null)
+		{
+			backgrounds[index] = drawBackgroundImage(style, turn);
+		}
+		
+		return backgrounds[index];
+	}
+	
+	/**
+	 * Returns the smallest rectangle covering every pixel that differs between the two images of the same size,
+	 * or an empty rectangle if they are the same.
+	 */
+	private static Rectangle getDifferenceBounds(BufferedImage a, BufferedImage b)
+	{
+		int w = a.getWidth();
+		int h = a.getHeight();
+		int[] rowA = new int[w];
+		int[] rowB = new int[w];
+		int left = w;
+		int top = h;
+		int right = -1;
+		int bottom = -1;
+		for (int y = 0; y < h; y++)
+		{
+			a.getRGB(0, y, w, 1, rowA, 0, w);
+			b.getRGB(0, y, w, 1, rowB, 0, w);
+			for (int x = 0; x < w; x++)
+			{
+				if (rowA[x] != rowB[x])
+				{
+					left = Math.min(left, x);
+					top = Math.min(top, y);
+					right = Math.max(right, x);
+					bottom = Math.max(bottom, y);
+				}
+			}
+		}
+		
+		return (right >= 0) ? new Rectangle(left, top, right - left + 1, bottom - top + 1) : new Rectangle();
+	}
+	
+	/**
+	 * Draws the board, the title, the player labels for the given turn and the empty pits into a new image
+	 * the size of the panel, over the background color of the style.
+	 */
+	private BufferedImage drawBackgroundImage(BoardStyle style, int turn)
+	{
+		GraphicsConfiguration config = getGraphicsConfiguration();
+		BufferedImage image = (config != null) ? config.createCompatibleImage(getWidth(), getHeight(), Transparency.OPAQUE) : new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_RGB);
+		Graphics2D g2 = image.createGraphics();
+		
+		g2.setColor(style.getBackgroundColor());
+		g2.fillRect(0, 0, image.getWidth(), image.getHeight());
+		
 		//Draw Board
-		frame.getCurrentStyle().drawBoard(g2, BOARD_WIDTH, BOARD_HEIGHT);
+		style.drawBoard(g2, boardWidth, BOARD_HEIGHT);
 		
 		//Draw Player labels
 		int hOffset = 20;
 		int vOffset = 20;
 		
-		frame.getCurrentStyle().drawBoardPlayerLabel(g2, "Player B", MancalaPitPanel.PIT_MANCALA_WIDTH + hOffset, MancalaPitPanel.PIT_NORMAL_HEIGHT + vOffset, currentTurn == MancalaModel.PLAYER_B, true);
-		frame.getCurrentStyle().drawBoardPlayerLabel(g2, "Player A", BOARD_WIDTH - MancalaPitPanel.PIT_MANCALA_WIDTH - hOffset, BOARD_HEIGHT - MancalaPitPanel.PIT_NORMAL_HEIGHT - (vOffset / 2), currentTurn == MancalaModel.PLAYER_A, false);
+		style.drawBoardPlayerLabel(g2, "Player B", MancalaPitPanel.PIT_MANCALA_WIDTH + hOffset, MancalaPitPanel.PIT_NORMAL_HEIGHT + vOffset, turn == MancalaModel.PLAYER_B, true);
+		style.drawBoardPlayerLabel(g2, "Player A", boardWidth - MancalaPitPanel.PIT_MANCALA_WIDTH - hOffset, BOARD_HEIGHT - MancalaPitPanel.PIT_NORMAL_HEIGHT - (vOffset / 2), turn == MancalaModel.PLAYER_A, false);
 		
 		//Draw title Label
-		frame.getCurrentStyle().drawBoardTitleString(g2, "Mancala", BOARD_WIDTH / 2, BOARD_HEIGHT / 2);
-				
-		//Draw pit panels
+		style.drawBoardTitleString(g2, "Mancala", boardWidth / 2, BOARD_HEIGHT / 2);
+		
+		//Draw empty pits
 		for (MancalaPitPanel e : pitPanels)
 		{
 			AffineTransform oldTransform = g2.getTransform();
 			g2.translate(e.getX(), e.getY());
-			e.paint(g2);
+			e.paintPit(g2);
 			g2.setTransform(oldTransform);
 		}
+		
+		g2.dispose();
+		return image;
 	}
 }
@@ -0,0 +1,28 @@
+/**
+ * The MancalaEngine interface describes a computer player that chooses a move
+ * for a Mancala position, so that different search strategies can be used interchangeably.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public interface MancalaEngine
+{
+	/**
+	 * Returns the best move for the player whose turn it is in the given model.
+	 * @param model the model to find a move for
+	 * @return int the pit to select, or -1 if there is no move to make
+	 */
+	int findBestMove(MancalaModel model);
+	/**
+	 * Returns the best move for the given player on the given board.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @return int the pit to select, or -1 if there is no move to make
+	 */
+	int findBestMove(int[] pits, int player);
+	/**
+	 * Stops the threads the engine searches on, if it has any. The engine can not be used afterwards.
+	 */
+	void shutdown();
+}
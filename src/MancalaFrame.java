@@ -12,7 +12,10 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.awt.geom.Rectangle2D;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -29,7 +32,7 @@ import javax.swing.event.ChangeListener;
  * @version 1.00
  */
 @SuppressWarnings("serial")
-public class MancalaFrame extends JFrame implements ChangeListener 
+public class MancalaFrame extends JFrame implements ChangeListener, BoardStyleSource 
 {
 	/**
 	 * The preset title of the frame.
@@ -43,6 +46,7 @@ public class MancalaFrame extends JFrame implements ChangeListener
 	 * The preset height of the frame.
 	 */
 	public static final int HEIGHT = 400; //400
+	private static final int[] ANIMATION_SPEEDS = { 1, 2, 4 }; //Animation speeds the speed button cycles through before instant
 	private MancalaModel model;
 	private ArrayList<BoardStyle> availableStyles;
 	private BoardStyle currentStyle;
@@ -54,6 +58,13 @@ public class MancalaFrame extends JFrame implements ChangeListener
 	private MouseMotionListener boardMouseMotionListener;
 	private MancalaPitPanel[] pits;
 	private MancalaBoardPanel board;
+	private MancalaPitPanel hoveredPit; //Pit highlighted under the mouse, or null if none is
+	private GameExecutor game; //Executor that makes every change to the model, one at a time
+	private ComputerPlayer computer; //Computer player that can make the moves of player B
+	private MoveAnimator animator; //Plays the recorded moves of the model back on the board
+	private long shownVersion; //Version of the last model snapshot handed to the animator
+	private ConcurrentLinkedQueue<BoardSnapshot> publishedSnapshots; //Snapshots published by the model and not yet handed to the animator, in order
+	private int speedIndex; //Index of the animation speed in ANIMATION_SPEEDS, or ANIMATION_SPEEDS.length for instant
 	
 	public MancalaFrame(MancalaModel model)
 	{
@@ -64,7 +75,23 @@ public class MancalaFrame extends JFrame implements ChangeListener
 		smoothMouseClicked = false;
 		
 		availableStyles = new ArrayList<BoardStyle>();
-		pits = new MancalaPitPanel[MancalaModel.TOTAL_PITS];
+		pits = new MancalaPitPanel[model.getGeometry().getTotalPits()];
+		IterativeDeepeningSearch search = new IterativeDeepeningSearch();
+		search.setOpeningBook(loadOpeningBook());
+		game = new GameExecutor(model);
+		computer = new ComputerPlayer(game, MancalaModel.PLAYER_B, search);
+		animator = new MoveAnimator(model.getGeometry());
+		animator.addBoardChangeListener(new BoardChangeListener() {
+			@Override
+			public void boardChanged(BoardChangeEvent e)
+			{
+				// Update and repaint only the pits that changed on the animated board
+				updateBoard(e);
+			}
+		});
+		shownVersion = -1;
+		publishedSnapshots = new ConcurrentLinkedQueue<BoardSnapshot>();
+		speedIndex = 0;
 	}
 	
 	/**
@@ -73,15 +100,24 @@ public class MancalaFrame extends JFrame implements ChangeListener
 	 */
 	public void initialize()
 	{
-		final JFrame frame = this;
-		
 		//Set title and dimensions
 		this.setTitle(TITLE);
 		this.setSize(WIDTH, HEIGHT);
 		this.setLayout(new GridLayout());
 		
-		//Add to model's listeners
-		model.addChangeListener(this);
+		//Add to model's listeners, the frame through a dispatcher that repaints at most once per display frame.
+		//Every snapshot is queued as it is published, before the dispatcher hears of it, so no coalesced move is lost
+		NotificationDispatcher dispatcher = new NotificationDispatcher(model, NotificationDispatcher.DEFAULT_FRAMES_PER_SECOND);
+		dispatcher.addChangeListener(this);
+		model.addChangeListener(new ChangeListener() {
+			@Override
+			public void stateChanged(ChangeEvent e)
+			{
+				publishedSnapshots.add(model.getSnapshot());
+			}
+		});
+		model.addChangeListener(dispatcher);
+		model.addChangeListener(computer);
 
 		// Set initial position
 		Dimension screenSize = java.awt.Toolkit.getDefaultToolkit().getScreenSize();
@@ -118,28 +154,20 @@ public class MancalaFrame extends JFrame implements ChangeListener
 						//Find pit at mouse position
 						MancalaPitPanel pit = findPitAtMousePosition(e.getX(), e.getY());
 						
-						for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+						for (int i = 0; i < pits.length; i++)
 						{
 							final int index = i;
 							if (pit != null && pit.equals(pits[index]))
 							{
-								if (pit.getPlayer() == model.getPlayerTurn())
-								{							
-									Thread t = new Thread(new Runnable(){
-										@Override
-										public void run() {
-											model.selectPit(index);
-										}										
-									});
+								if (pit.getPlayer() == animator.getPlayerTurn() && !computer.isControlling(pit.getPlayer()))
+								{
+									//Moves are made on the game thread and animated by the animator once they are published
+									game.selectPit(index);
 									
-									t.start();
-									
-									pit.setHighlighted(false);
+									setHoveredPit(null);
 								}
 							}
 						}
-	
-						frame.repaint();
 					}
 					
 					smoothMouseClicked = true;
@@ -160,33 +188,20 @@ public class MancalaFrame extends JFrame implements ChangeListener
 
 			@Override
 			public void mouseMoved(MouseEvent e) {				
-				//Update and see if a valid pit is selected
+				//Highlight the pit under the mouse if it can be selected, repainting only when that pit changes
+				MancalaPitPanel pit = null;
 				if (model.hasGameEnded() <= -1)
 				{
 					//Find pit at mouse position
-					MancalaPitPanel pit = findPitAtMousePosition(e.getX(), e.getY());
+					pit = findPitAtMousePosition(e.getX(), e.getY());
 					
-					for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+					if (pit != null && (pit.getPlayer() != animator.getPlayerTurn() || computer.isControlling(pit.getPlayer())))
 					{
-						if (pit == null)
-						{
-							pits[i].setHighlighted(false);
-						}
-						else if (pit.equals(pits[i]))
-						{
-							if (pit.getPlayer() == model.getPlayerTurn())
-							{
-								pits[i].setHighlighted(true);
-							}
-						}
-						else
-						{
-							pits[i].setHighlighted(false);
-						}
+						pit = null;
 					}
-
-					frame.repaint();
 				}
+				
+				setHoveredPit(pit);
 			}			
 		};
 
@@ -198,10 +213,12 @@ public class MancalaFrame extends JFrame implements ChangeListener
 	@Override
 	public void stateChanged(ChangeEvent e) 
 	{
-		// Update pit states
-		updateBoard();
-		
-		repaint();
+		//Delivered on the event dispatch thread, possibly for several changes at once, so show every snapshot published since
+		BoardSnapshot snapshot;
+		while ((snapshot = publishedSnapshots.poll()) != null)
+		{
+			showSnapshot(snapshot);
+		}
 	}
 	
 	/**
@@ -397,7 +414,7 @@ public class MancalaFrame extends JFrame implements ChangeListener
 				@Override
 				public void actionPerformed(ActionEvent e) 
 				{										
-					model.setInitialStoneCount(index);
+					game.setInitialStoneCount(index);
 					
 					frame.remove(countSelectionPanel);
 					boardPanel = getBoardPanel();
@@ -446,101 +463,13 @@ public class MancalaFrame extends JFrame implements ChangeListener
 		mainPanel.setLayout(null);
 		mainPanel.setBackground(currentStyle.getBackgroundColor());
 		
-		MancalaBoardPanel boardPanel = new MancalaBoardPanel(this);
-		boardPanel.setLocation((this.getContentPane().getWidth() / 2) - (MancalaBoardPanel.BOARD_WIDTH / 2), (this.getContentPane().getHeight() / 2) - (MancalaBoardPanel.BOARD_HEIGHT / 2)); //Center in the middle of the frame
+		MancalaBoardPanel boardPanel = new MancalaBoardPanel(this, model.getGeometry());
+		boardPanel.setLocation((this.getContentPane().getWidth() / 2) - (boardPanel.getBoardWidth() / 2), (this.getContentPane().getHeight() / 2) - (MancalaBoardPanel.BOARD_HEIGHT / 2)); //Center in the middle of the frame
 		boardPanel.setLayout(null);
 		
 		//Add pits
-		MancalaPitPanel pit;
-		
-		int horOffset = ((MancalaBoardPanel.BOARD_WIDTH) - (2 * MancalaPitPanel.PIT_MANCALA_WIDTH) - (6 * MancalaPitPanel.PIT_NORMAL_WIDTH)) / 9; //Horizontal offsets for pits
-		int verOffset = 10; //Vertical offsets for pits		
-		/* B_Mancala */
-		pit = new MancalaPitPanel(this);
-		pit.setMancala(true);
-		pit.setX((horOffset * 1) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 0) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 0));
-		pit.setY(verOffset);
-		pits[MancalaModel.PIT_B_MANCALA] = pit;
-		boardPanel.addPitPanel(pit);
-		/* A_01 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 2) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 0));
-		pit.setY(MancalaBoardPanel.BOARD_HEIGHT - verOffset - MancalaPitPanel.PIT_NORMAL_HEIGHT);
-		pits[MancalaModel.PIT_A01] = pit;
-		boardPanel.addPitPanel(pit);
-		/* A_02 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 3) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 1));
-		pit.setY(MancalaBoardPanel.BOARD_HEIGHT - verOffset - MancalaPitPanel.PIT_NORMAL_HEIGHT);
-		pits[MancalaModel.PIT_A02] = pit;
-		boardPanel.addPitPanel(pit);
-		/* A_03 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 4) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 2));
-		pit.setY(MancalaBoardPanel.BOARD_HEIGHT - verOffset - MancalaPitPanel.PIT_NORMAL_HEIGHT);
-		pits[MancalaModel.PIT_A03] = pit;
-		boardPanel.addPitPanel(pit);
-		/* A_04 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 5) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 3));
-		pit.setY(MancalaBoardPanel.BOARD_HEIGHT - verOffset - MancalaPitPanel.PIT_NORMAL_HEIGHT);
-		pits[MancalaModel.PIT_A04] = pit;
-		boardPanel.addPitPanel(pit);
-		/* A_05 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 6) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 4));
-		pit.setY(MancalaBoardPanel.BOARD_HEIGHT - verOffset - MancalaPitPanel.PIT_NORMAL_HEIGHT);
-		pits[MancalaModel.PIT_A05] = pit;
-		boardPanel.addPitPanel(pit);
-		/* A_06 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 7) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 5));
-		pit.setY(MancalaBoardPanel.BOARD_HEIGHT - verOffset - MancalaPitPanel.PIT_NORMAL_HEIGHT);
-		pits[MancalaModel.PIT_A06] = pit;
-		boardPanel.addPitPanel(pit);
-		/* A_Mancala */
-		pit = new MancalaPitPanel(this);
-		pit.setMancala(true);
-		pit.setX((horOffset * 8) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 6));
-		pit.setY(verOffset);
-		pits[MancalaModel.PIT_A_MANCALA] = pit;
-		boardPanel.addPitPanel(pit);
-		/* B_06 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 2) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 0));
-		pit.setY(verOffset);
-		pits[MancalaModel.PIT_B06] = pit;
-		boardPanel.addPitPanel(pit);
-		/* B_05 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 3) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 1));
-		pit.setY(verOffset);
-		pits[MancalaModel.PIT_B05] = pit;
-		boardPanel.addPitPanel(pit);
-		/* B_04 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 4) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 2));
-		pit.setY(verOffset);
-		pits[MancalaModel.PIT_B04] = pit;
-		boardPanel.addPitPanel(pit);
-		/* B_03 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 5) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 3));
-		pit.setY(verOffset);
-		pits[MancalaModel.PIT_B03] = pit;
-		boardPanel.addPitPanel(pit);
-		/* B_02 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 6) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 4));
-		pit.setY(verOffset);
-		pits[MancalaModel.PIT_B02] = pit;
-		boardPanel.addPitPanel(pit);
-		/* B_01 */
-		pit = new MancalaPitPanel(this);
-		pit.setX((horOffset * 7) + (MancalaPitPanel.PIT_MANCALA_WIDTH * 1) + (MancalaPitPanel.PIT_NORMAL_WIDTH * 5));
-		pit.setY(verOffset);
-		pits[MancalaModel.PIT_B01] = pit;
-		boardPanel.addPitPanel(pit);
+		pits = boardPanel.createPitPanels();
+		hoveredPit = null;
 		
 		int buttonOffset = 10;
 		/*New Game Button*/
@@ -552,7 +481,68 @@ public class MancalaFrame extends JFrame implements ChangeListener
 		btn.addActionListener(new ActionListener(){
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				model.startGame();
+				game.startGame();
+			}			
+		});
+		btn.setBackground(currentStyle.getButtonBackgroundColor());
+		btn.setForeground(currentStyle.getButtonForegroundColor());
+		mainPanel.add(btn);
+		/*Computer Player Button*/
+		final JButton computerButton = new JButton(getComputerButtonText());
+		computerButton.setLocation((buttonOffset * 2) + 100, buttonOffset);
+		computerButton.setSize(130, 25);
+		computerButton.setFocusable(false);
+		computerButton.addMouseListener(new ButtonHighlightMouseListener(computerButton, currentStyle));
+		computerButton.addActionListener(new ActionListener(){
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				computer.setEnabled(!computer.isEnabled());
+				computerButton.setText(getComputerButtonText());
+			}			
+		});
+		computerButton.setBackground(currentStyle.getButtonBackgroundColor());
+		computerButton.setForeground(currentStyle.getButtonForegroundColor());
+		if (model.getGeometry() == BoardGeometry.STANDARD)
+		{
+			//The computer's searches only know the standard board
+			mainPanel.add(computerButton);
+		}
+		/*Animation Speed Button*/
+		final JButton speedButton = new JButton(getSpeedButtonText());
+		speedButton.setLocation((buttonOffset * 3) + 100 + 130, buttonOffset);
+		speedButton.setSize(110, 25);
+		speedButton.setFocusable(false);
+		speedButton.addMouseListener(new ButtonHighlightMouseListener(speedButton, currentStyle));
+		speedButton.addActionListener(new ActionListener(){
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				//Cycle through the speeds, then instant, then back to normal speed
+				speedIndex = (speedIndex + 1) % (ANIMATION_SPEEDS.length + 1);
+				if (speedIndex < ANIMATION_SPEEDS.length)
+				{
+					animator.setSpeed(ANIMATION_SPEEDS[speedIndex]);
+					animator.setInstant(false);
+				}
+				else
+				{
+					animator.setInstant(true);
+				}
+				speedButton.setText(getSpeedButtonText());
+			}			
+		});
+		speedButton.setBackground(currentStyle.getButtonBackgroundColor());
+		speedButton.setForeground(currentStyle.getButtonForegroundColor());
+		mainPanel.add(speedButton);
+		/*Skip Animation Button*/
+		btn = new JButton("Skip");
+		btn.setLocation((buttonOffset * 4) + 100 + 130 + 110, buttonOffset);
+		btn.setSize(80, 25);
+		btn.setFocusable(false);
+		btn.addMouseListener(new ButtonHighlightMouseListener(btn, currentStyle));
+		btn.addActionListener(new ActionListener(){
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				animator.skipToEnd();
 			}			
 		});
 		btn.setBackground(currentStyle.getButtonBackgroundColor());
@@ -567,7 +557,15 @@ public class MancalaFrame extends JFrame implements ChangeListener
 		btn.addActionListener(new ActionListener(){
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				model.undoTurn();
+				//Against the computer, undo its reply too, so it is the human's turn again
+				if (computer.isEnabled())
+				{
+					game.undoTurn(MancalaRules.getOppositePlayer(computer.getPlayer()));
+				}
+				else
+				{
+					game.undoTurn();
+				}
 			}			
 		});
 		btn.setBackground(currentStyle.getButtonBackgroundColor());
@@ -581,6 +579,7 @@ public class MancalaFrame extends JFrame implements ChangeListener
 		this.getContentPane().addMouseMotionListener(boardMouseMotionListener);
 		
 		//Update current stone counts for pits
+		showSnapshot(model.getSnapshot());
 		updateBoard();
 		
 		mainPanel.add(boardPanel);		
@@ -588,21 +587,82 @@ public class MancalaFrame extends JFrame implements ChangeListener
 		return mainPanel;
 	}
 	
+	/**
+	 * Returns the opening book in the default book file, or null if there is no readable book.
+	 */
+	private static OpeningBook loadOpeningBook()
+	{
+		File file = new File(OpeningBook.DEFAULT_FILE);
+		if (file.isFile())
+		{
+			try
+			{
+				return OpeningBook.load(file);
+			}
+			catch (IOException e)
+			{
+				System.err.println("Could not load the opening book: " + e.getMessage());
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Returns the text of the computer player button for the computer's current state.
+	 */
+	private String getComputerButtonText()
+	{
+		return computer.isEnabled() ? "Computer: On" : "Computer: Off";
+	}
+	
+	/**
+	 * Hands the given model snapshot to the animator, playing the move that led to it if there is one,
+	 * and showing it at once otherwise. Snapshots must be handed over in the order they were published, so
+	 * every move is played. Snapshots older than the last one handed over are ignored.
+	 */
+	private void showSnapshot(BoardSnapshot snapshot)
+	{
+		if (snapshot.getVersion() <= shownVersion)
+		{
+			return;
+		}
+		
+		if (snapshot.getLastMove() != null)
+		{
+			animator.play(snapshot.getLastMove());
+		}
+		else
+		{
+			//Not a move, such as a new game or an undo, so show the board as it is
+			animator.show(snapshot.getBoard(), snapshot.getPlayerTurn());
+		}
+		shownVersion = snapshot.getVersion();
+	}
+	
+	/**
+	 * Returns the text of the animation speed button for the animator's current speed.
+	 */
+	private String getSpeedButtonText()
+	{
+		return (speedIndex < ANIMATION_SPEEDS.length) ? "Speed: " + ANIMATION_SPEEDS[speedIndex] + "x" : "Speed: Instant";
+	}
+	
 	/**
 	 * Returns the pit at the given mouse position, if there is one.
 	 */
 	private MancalaPitPanel findPitAtMousePosition(int mousex, int mousey)
 	{
-		for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+		for (int i = 0; i < pits.length; i++)
 		{
-			if ((i != MancalaModel.PIT_A_MANCALA) && (i != MancalaModel.PIT_B_MANCALA))
+			if (!model.isMancalaPit(i))
 			{
 				//Check Bounds
 				int x = pits[i].getX();
 				int y = pits[i].getY();
 				int w = MancalaPitPanel.PIT_NORMAL_WIDTH;
 				int h = MancalaPitPanel.PIT_NORMAL_HEIGHT;
-				int bw = MancalaBoardPanel.BOARD_WIDTH;
+				int bw = board.getBoardWidth();
 				int bh = MancalaBoardPanel.BOARD_HEIGHT;
 				int xoffset = (this.getContentPane().getWidth() / 2) - (bw / 2);
 				int yoffset = (this.getContentPane().getHeight() / 2) - (bh / 2);
@@ -618,18 +678,68 @@ public class MancalaFrame extends JFrame implements ChangeListener
 		return null;
 	}
 	
+	/**
+	 * Highlights the given pit instead of the one highlighted under the mouse before, repainting only
+	 * those two pits, and nothing if the pit did not change.
+	 * @param pit the pit under the mouse, or null to highlight none
+	 */
+	private void setHoveredPit(MancalaPitPanel pit)
+	{
+		if (pit == hoveredPit)
+		{
+			return;
+		}
+		
+		if (hoveredPit != null)
+		{
+			hoveredPit.setHighlighted(false);
+			board.repaintPit(hoveredPit);
+		}
+		if (pit != null)
+		{
+			pit.setHighlighted(true);
+			board.repaintPit(pit);
+		}
+		hoveredPit = pit;
+	}
+	
+	/**
+	 * Updates the pit panels that changed on the animated board, repainting only their part of the board,
+	 * and the part showing the turn when the turn changed.
+	 */
+	private void updateBoard(BoardChangeEvent e)
+	{
+		if (board == null)
+		{
+			return;
+		}
+		
+		if (e.isTurnChanged())
+		{
+			board.setCurrentTurn(e.getNewTurn());
+			board.repaintTurnChange(e.getOldTurn(), e.getNewTurn());
+		}
+		
+		for (int i = 0; i < e.getChangedPitCount(); i++)
+		{
+			MancalaPitPanel pit = pits[e.getChangedPit(i)];
+			pit.setStones(e.getNewStones(i));
+			board.repaintPit(pit);
+		}
+	}
+	
 	/**
 	 * Updates the information in the pit panels
 	 */
 	private void updateBoard()
 	{
 		//Update Board Panel
-		board.setCurrentTurn(model.getPlayerTurn());
+		board.setCurrentTurn(animator.getPlayerTurn());
 		
 		//Update Pit Panels
 		for (int i = 0; i < pits.length; i++)
 		{
-			pits[i].setStones(model.getStonesInPit(i));
+			pits[i].setStones(animator.getStonesInPit(i));
 			pits[i].setPlayer(model.getOwnerOfPit(i));
 		}
 	}
@@ -42,10 +42,30 @@ public interface MancalaModel
 	 * @return int the index of the player who owns the pit.
 	 */
 	int getOwnerOfPit(int pit);
+	/**
+	 * Returns the geometry of the board, which tells how many pits there are
+	 * and how they are laid out. The pit constants describe the standard geometry.
+	 * @return BoardGeometry the geometry of the board
+	 */
+	BoardGeometry getGeometry();
+	/**
+	 * Returns the last published snapshot of the model. The board, turn and winner
+	 * of one snapshot always belong together, so a view on another thread should take
+	 * a single snapshot rather than asking the model for each value separately.
+	 * @return BoardSnapshot the current snapshot
+	 */
+	BoardSnapshot getSnapshot();
 	/**
 	 * Notifies the model that a request to undo the current turn has been made.
 	 */
 	void undoTurn();
+	/**
+	 * Notifies the model that a request to undo every move back to the given player's
+	 * last turn has been made, so that the moves of the other player after it are undone
+	 * as well. This lets a player undo against a computer that has already replied.
+	 * @param player the player whose last move should be undone
+	 */
+	void undoTurn(int player);
 	/**
 	 * Sets the amount of stones to be used for the game when it is
 	 * first started, this will be called by the controller.
@@ -94,6 +114,12 @@ public interface MancalaModel
 	 * @param l the ChangeListner to add.
 	 */
 	public void addChangeListener(ChangeListener l);
+	/**
+	 * Adds a listener that is told exactly what changed on the board after every change,
+	 * on the thread that made the change.
+	 * @param l the BoardChangeListener to add.
+	 */
+	public void addBoardChangeListener(BoardChangeListener l);
 	/**
 	 * Notifies all of this model's listeners that change has occured.
 	 */
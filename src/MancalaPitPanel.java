@@ -1,6 +1,5 @@
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.Point;
 
 import javax.swing.JPanel;
 
@@ -39,7 +38,9 @@ public class MancalaPitPanel extends JPanel
 	 * Height of a Stone in the pit
 	 */
 	public static final int STONE_HEIGHT = 8;
-	private MancalaFrame frame;
+	private static final StoneLayoutCache MANCALA_LAYOUT = new StoneLayoutCache(new PitMancalaLayout(), PIT_MANCALA_WIDTH, PIT_MANCALA_HEIGHT, STONE_WIDTH, STONE_HEIGHT); //Stone layouts of every mancala pit
+	private static final StoneLayoutCache NORMAL_LAYOUT = new StoneLayoutCache(new PitNormalLayout(), PIT_NORMAL_WIDTH, PIT_NORMAL_HEIGHT, STONE_WIDTH, STONE_HEIGHT); //Stone layouts of every normal pit
+	private BoardStyleSource styleSource; //Source of the style to draw with
 	private int stones; //amount of stones in pit
 	private int player; //owner of pit
 	private boolean isMancala; //if this pit is a mancala
@@ -47,9 +48,9 @@ public class MancalaPitPanel extends JPanel
 	private int x;
 	private int y;
 	
-	public MancalaPitPanel(MancalaFrame frame)
+	public MancalaPitPanel(BoardStyleSource styleSource)
 	{
-		this.frame = frame;
+		this.styleSource = styleSource;
 		stones = 0;
 		player = MancalaModel.PLAYER_NONE;
 		isMancala = false;
@@ -85,6 +86,15 @@ public class MancalaPitPanel extends JPanel
 		this.isMancala = isMancala;
 	}
 	
+	/**
+	 * Returns true if this panel is a mancala pit
+	 * @return boolean true if this panel is a mancala pit
+	 */
+	public boolean isMancala()
+	{
+		return isMancala;
+	}
+	
 	/**
 	 * Sets whether or not this pit is currently highlighted by a valid player
 	 */
@@ -140,61 +150,87 @@ public class MancalaPitPanel extends JPanel
 
 	@Override
 	public void paint(Graphics g)
+	{
+		paintPit(g);
+		paintContents(g);
+	}
+	
+	/**
+	 * Draws the empty pit, which only changes with the style, so the board can draw it once into its background.
+	 * @param g the graphics to draw with
+	 */
+	public void paintPit(Graphics g)
+	{
+		Graphics2D g2 = (Graphics2D) g;
+		
+		if (isMancala)
+		{
+			styleSource.getCurrentStyle().drawPit(g2, PIT_MANCALA_WIDTH, PIT_MANCALA_HEIGHT);
+		}
+		else
+		{
+			styleSource.getCurrentStyle().drawPit(g2, PIT_NORMAL_WIDTH, PIT_NORMAL_HEIGHT);
+		}
+	}
+	
+	/**
+	 * Draws what changes during a game over the empty pit: the stones, the amount of stones and the highlight.
+	 * @param g the graphics to draw with
+	 */
+	public void paintContents(Graphics g)
 	{			
 		Graphics2D g2 = (Graphics2D) g;
 		
 		if (isMancala)
 		{
-			//Draw Mancala Pit
-			frame.getCurrentStyle().drawPit(g2, PIT_MANCALA_WIDTH, PIT_MANCALA_HEIGHT);
-			
 			//Draw Numerical amount of stones in mancala pit based on owner (SCORE)
 			int voffset = -2;
 			
 			if (player == MancalaModel.PLAYER_B)
 			{
 				//Display score at top
-				frame.getCurrentStyle().drawBoardMancalaScoreString(g2, stones + "", (PIT_MANCALA_WIDTH / 2), voffset, true);
+				styleSource.getCurrentStyle().drawBoardMancalaScore(g2, stones, (PIT_MANCALA_WIDTH / 2), voffset, true);
 			}
 			else if (player == MancalaModel.PLAYER_A)
 			{
 				//Display score at bottom
-				frame.getCurrentStyle().drawBoardMancalaScoreString(g2, stones + "", (PIT_MANCALA_WIDTH / 2), PIT_MANCALA_HEIGHT - voffset, false);
+				styleSource.getCurrentStyle().drawBoardMancalaScore(g2, stones, (PIT_MANCALA_WIDTH / 2), PIT_MANCALA_HEIGHT - voffset, false);
 			}
 			
 			//Draw stones with Mancala pit layout
-			StoneLayout layout = new PitMancalaLayout();
-			for (Point e : layout.getLayout(stones, PIT_MANCALA_WIDTH, PIT_MANCALA_HEIGHT, STONE_WIDTH, STONE_HEIGHT))
-			{
-				frame.getCurrentStyle().drawStone(g2, (int) e.getX(), (int) e.getY(), STONE_WIDTH, STONE_HEIGHT);
-			}
+			drawStones(g2, MANCALA_LAYOUT.getCoordinates(stones));
 		}
 		else
 		{
-			//Draw Normal Pit
-			frame.getCurrentStyle().drawPit(g2, PIT_NORMAL_WIDTH, PIT_NORMAL_HEIGHT);
-			
 			//Draw stones with Normal pit layout if stones are <= 10, otherwise just draw the number of stones
 			if (stones <= PitNormalLayout.MAXSTONES)
 			{
 				//Draw Stones
-				StoneLayout layout = new PitNormalLayout();
-				for (Point e : layout.getLayout(stones, PIT_NORMAL_WIDTH, PIT_NORMAL_HEIGHT, STONE_WIDTH, STONE_HEIGHT))
-				{
-					frame.getCurrentStyle().drawStone(g2, (int) e.getX(), (int) e.getY(), STONE_WIDTH, STONE_HEIGHT);
-				}
+				drawStones(g2, NORMAL_LAYOUT.getCoordinates(stones));
 			}
 			else
 			{
 				//Draw Amount of stones instead
-				frame.getCurrentStyle().drawPitStoneAmountString(g2, stones + "", (PIT_NORMAL_WIDTH / 2), (PIT_NORMAL_HEIGHT / 2));
+				styleSource.getCurrentStyle().drawPitStoneAmount(g2, stones, (PIT_NORMAL_WIDTH / 2), (PIT_NORMAL_HEIGHT / 2));
 			}
 			
 			//Draw highlight
 			if (isHighlighted)
 			{
-				frame.getCurrentStyle().drawPitHighlight(g2, PIT_NORMAL_WIDTH, PIT_NORMAL_HEIGHT);
+				styleSource.getCurrentStyle().drawPitHighlight(g2, PIT_NORMAL_WIDTH, PIT_NORMAL_HEIGHT);
 			}
 		}
 	}
+	
+	/**
+	 * Draws a stone at every pair of the given packed coordinates.
+	 */
+	private void drawStones(Graphics2D g2, int[] coordinates)
+	{
+		BoardStyle style = styleSource.getCurrentStyle();
+		for (int i = 0; i < coordinates.length; i += 2)
+		{
+			style.drawStone(g2, coordinates[i], coordinates[i + 1], STONE_WIDTH, STONE_HEIGHT);
+		}
+	}
 }
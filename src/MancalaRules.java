@@ -0,0 +1,434 @@
+/**
+ * The MancalaRules class holds the rules of Kalah as plain functions over a board array
+ * indexed by the MancalaModel pit constants. Moves are applied in full without any
+ * sleeping or listener callbacks, so the same rules can be used by the Model, by
+ * simulations and by computer players. Animation can be layered on top by passing
+ * a MoveObserver when applying a move.
+ * <br>
+ * The functions that take a BoardGeometry work on boards with any amount of pits per side,
+ * and the ones without work on the standard board of the MancalaModel pit constants.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public final class MancalaRules
+{
+	/**
+	 * Result flag for a move that gives the current player another turn.
+	 */
+	public static final int MOVE_FREE_TURN = 1;
+	/**
+	 * Result flag for a move that captured the opposite pit.
+	 */
+	public static final int MOVE_CAPTURE = 2;
+	/**
+	 * Result flag for a move that ended the game.
+	 */
+	public static final int MOVE_GAME_OVER = 4;
+	/**
+	 * Result returned when the requested move is not valid.
+	 */
+	public static final int MOVE_INVALID = -1;
+
+	private MancalaRules()
+	{
+	}
+
+	/**
+	 * Returns true if the given pit is a mancala pit, and
+	 * false if it is a normal pit.
+	 * @param pit the pit to check
+	 * @return boolean true if the pit is a mancala pit
+	 */
+	public static boolean isMancalaPit(int pit)
+	{
+		return pit == MancalaModel.PIT_A_MANCALA || pit == MancalaModel.PIT_B_MANCALA;
+	}
+
+	/**
+	 * Returns the index of the player that owns the given pit, or PLAYER_NONE
+	 * if the pit is not a valid pit.
+	 * @param pit the pit to find the owner of
+	 * @return int the index of the player who owns the pit.
+	 */
+	public static int getOwnerOfPit(int pit)
+	{
+		if (pit < 0 || pit >= MancalaModel.TOTAL_PITS)
+		{
+			return MancalaModel.PLAYER_NONE;
+		}
+
+		if (pit <= MancalaModel.PIT_A_MANCALA) return MancalaModel.PLAYER_A;
+		return MancalaModel.PLAYER_B;
+	}
+
+	/**
+	 * Returns the mancala pit owned by the given player,
+	 * returns -1 if invalid player.
+	 * @param player the player to return the mancala pit for
+	 * @return int the identifier of the mancala pit
+	 */
+	public static int getMancalaForPlayer(int player)
+	{
+		if (player == MancalaModel.PLAYER_A)
+		{
+			return MancalaModel.PIT_A_MANCALA;
+		}
+		else if (player == MancalaModel.PLAYER_B)
+		{
+			return MancalaModel.PIT_B_MANCALA;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns the opponent of the given player
+	 * @param player the player to get the opposite of
+	 * @return the identifier of the opposite player
+	 */
+	public static int getOppositePlayer(int player)
+	{
+		if (player == MancalaModel.PLAYER_A)
+		{
+			return MancalaModel.PLAYER_B;
+		}
+		else if (player == MancalaModel.PLAYER_B)
+		{
+			return MancalaModel.PLAYER_A;
+		}
+
+		return MancalaModel.PLAYER_NONE;
+	}
+
+	/**
+	 * Returns the opposite pit across the board from the given pit.
+	 * @param pit the pit to check the opposite of
+	 * @return int the identifier of the opposite pit
+	 */
+	public static int getOppositePit(int pit)
+	{
+		return BoardGeometry.STANDARD.getOppositePit(pit);
+	}
+
+	/**
+	 * Returns the pit that the given player sows into after the given pit,
+	 * which skips over the mancala of the player's opponent.
+	 * @param pit the pit the last stone was dropped into
+	 * @param player the player who is sowing
+	 * @return int the identifier of the next pit
+	 */
+	public static int getNextPit(int pit, int player)
+	{
+		return BoardGeometry.STANDARD.getNextPit(pit, player);
+	}
+
+	/**
+	 * Returns the first normal pit of the given player's side.
+	 * @param player the player
+	 * @return int the identifier of the first pit
+	 */
+	public static int getFirstPitForPlayer(int player)
+	{
+		return (player == MancalaModel.PLAYER_A) ? MancalaModel.PIT_A01 : MancalaModel.PIT_B01;
+	}
+
+	/**
+	 * Sets up the board for the start of a game, with the given amount of stones
+	 * in every normal pit and empty mancalas.
+	 * @param pits the board to set up
+	 * @param stones the amount of stones per normal pit
+	 */
+	public static void setupBoard(int[] pits, int stones)
+	{
+		setupBoard(BoardGeometry.STANDARD, pits, stones);
+	}
+
+	/**
+	 * Sets up the board of the given geometry for the start of a game, with the given
+	 * amount of stones in every normal pit and empty mancalas.
+	 * @param geometry the geometry of the board
+	 * @param pits the board to set up
+	 * @param stones the amount of stones per normal pit
+	 */
+	public static void setupBoard(BoardGeometry geometry, int[] pits, int stones)
+	{
+		for (int i = 0; i < geometry.getTotalPits(); i++)
+		{
+			pits[i] = geometry.isMancalaPit(i) ? 0 : stones;
+		}
+	}
+
+	/**
+	 * Returns true if the given pit is a move that the given player is allowed to make.
+	 * @param pits the board
+	 * @param player the player to move
+	 * @param pit the selected pit
+	 * @return boolean true if the move is valid
+	 */
+	public static boolean isValidMove(int[] pits, int player, int pit)
+	{
+		return isValidMove(BoardGeometry.STANDARD, pits, player, pit);
+	}
+
+	/**
+	 * Returns true if the given pit is a move that the given player is allowed to make
+	 * on the board of the given geometry.
+	 * @param geometry the geometry of the board
+	 * @param pits the board
+	 * @param player the player to move
+	 * @param pit the selected pit
+	 * @return boolean true if the move is valid
+	 */
+	public static boolean isValidMove(BoardGeometry geometry, int[] pits, int player, int pit)
+	{
+		return geometry.getOwnerOfPit(pit) == player && !geometry.isMancalaPit(pit) && pits[pit] > 0;
+	}
+
+	/**
+	 * Returns true if the player's normal pits are all empty
+	 * @param pits the board
+	 * @param player the player to check for
+	 * @return boolean true if the normal pits are all empty for player.
+	 */
+	public static boolean sideForPlayerIsEmpty(int[] pits, int player)
+	{
+		return sideForPlayerIsEmpty(BoardGeometry.STANDARD, pits, player);
+	}
+
+	/**
+	 * Returns true if the player's normal pits are all empty on the board of the given geometry
+	 * @param geometry the geometry of the board
+	 * @param pits the board
+	 * @param player the player to check for
+	 * @return boolean true if the normal pits are all empty for player.
+	 */
+	public static boolean sideForPlayerIsEmpty(BoardGeometry geometry, int[] pits, int player)
+	{
+		int first = geometry.getFirstPitForPlayer(player);
+		int last = geometry.getMancalaForPlayer(player);
+		for (int i = first; i < last; i++)
+		{
+			if (pits[i] != 0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the player who has the most stones in their mancala,
+	 * or PLAYER_NONE if both players have the same amount.
+	 * @param pits the board
+	 * @return int the index of the winning player
+	 */
+	public static int getWinner(int[] pits)
+	{
+		return getWinner(BoardGeometry.STANDARD, pits);
+	}
+
+	/**
+	 * Returns the player who has the most stones in their mancala on the board of
+	 * the given geometry, or PLAYER_NONE if both players have the same amount.
+	 * @param geometry the geometry of the board
+	 * @param pits the board
+	 * @return int the index of the winning player
+	 */
+	public static int getWinner(BoardGeometry geometry, int[] pits)
+	{
+		int a = pits[geometry.getMancalaForPlayer(MancalaModel.PLAYER_A)];
+		int b = pits[geometry.getMancalaForPlayer(MancalaModel.PLAYER_B)];
+
+		if (a > b)
+		{
+			return MancalaModel.PLAYER_A;
+		}
+		else if (b > a)
+		{
+			return MancalaModel.PLAYER_B;
+		}
+
+		return MancalaModel.PLAYER_NONE;
+	}
+
+	/**
+	 * Returns the player whose turn it is after the given player made a move
+	 * with the given result.
+	 * @param player the player who made the move
+	 * @param result the result flags returned by applyMove
+	 * @return int the index of the next player, or PLAYER_NONE if the game is over
+	 */
+	public static int getNextTurn(int player, int result)
+	{
+		if ((result & MOVE_GAME_OVER) != 0)
+		{
+			return MancalaModel.PLAYER_NONE;
+		}
+		else if ((result & MOVE_FREE_TURN) != 0)
+		{
+			return player;
+		}
+
+		return getOppositePlayer(player);
+	}
+
+	/**
+	 * Applies the move for the given pit to the board, as made by the owner of the pit.
+	 * @param pits the board to apply the move to
+	 * @param pit the selected pit
+	 * @return int the result flags of the move, or MOVE_INVALID
+	 */
+	public static int applyMove(int[] pits, int pit)
+	{
+		return applyMove(pits, pit, null);
+	}
+
+	/**
+	 * Applies the move for the given pit to the board, as made by the owner of the pit,
+	 * reporting every stone that is moved to the given observer. When the observer is
+	 * null, full laps of sowing, captures and the end of game sweep are applied in bulk,
+	 * so the cost of a move does not grow with the amount of stones.
+	 * @param pits the board to apply the move to
+	 * @param pit the selected pit
+	 * @param observer the observer to report stone movements to, or null
+	 * @return int the result flags of the move, or MOVE_INVALID
+	 */
+	public static int applyMove(int[] pits, int pit, MoveObserver observer)
+	{
+		return applyMove(BoardGeometry.STANDARD, pits, pit, observer);
+	}
+
+	/**
+	 * Applies the move for the given pit to the board of the given geometry, as made by the
+	 * owner of the pit, reporting every stone that is moved to the given observer. When the
+	 * observer is null, full laps of sowing, captures and the end of game sweep are applied
+	 * in bulk, so the cost of a move does not grow with the amount of stones.
+	 * @param geometry the geometry of the board
+	 * @param pits the board to apply the move to
+	 * @param pit the selected pit
+	 * @param observer the observer to report stone movements to, or null
+	 * @return int the result flags of the move, or MOVE_INVALID
+	 */
+	public static int applyMove(BoardGeometry geometry, int[] pits, int pit, MoveObserver observer)
+	{
+		int player = geometry.getOwnerOfPit(pit);
+		if (player == MancalaModel.PLAYER_NONE || geometry.isMancalaPit(pit) || pits[pit] <= 0)
+		{
+			return MOVE_INVALID;
+		}
+
+		int result = 0;
+		int mancala = geometry.getMancalaForPlayer(player);
+
+		//Pick up the pieces
+		int pieces = pits[pit];
+		pits[pit] = 0;
+		if (observer != null) observer.stonesPickedUp(pit, pieces);
+
+		//Sow whole laps in one pass when no observer needs every stone, ending back at the selected pit
+		int currentPit = pit;
+		int ring = geometry.getTotalPits() - 1; //Amount of pits the player sows into
+		if (observer == null && pieces >= ring)
+		{
+			int laps = pieces / ring;
+			int enemyMancala = geometry.getMancalaForPlayer(getOppositePlayer(player));
+			for (int i = 0; i < geometry.getTotalPits(); i++)
+			{
+				if (i != enemyMancala)
+				{
+					pits[i] += laps;
+				}
+			}
+			pieces -= laps * ring;
+		}
+
+		//Sow the remaining pieces one by one, skipping the enemy mancala
+		for (int p = pieces; p > 0; p--)
+		{
+			int nextPit = geometry.getNextPit(currentPit, player);
+			if (observer != null && nextPit != (currentPit + 1) % geometry.getTotalPits()) observer.pitSkipped(geometry.getMancalaForPlayer(getOppositePlayer(player)));
+			currentPit = nextPit;
+			pits[currentPit]++;
+			if (observer != null) observer.stoneDropped(currentPit);
+		}
+
+		//Evaluate where the last piece landed
+		if (currentPit == mancala)
+		{
+			//Last piece in our own mancala, Free Turn!
+			result |= MOVE_FREE_TURN;
+		}
+		else if ((pits[currentPit] == 1) && (geometry.getOwnerOfPit(currentPit) == player))
+		{
+			//Last piece landed in an empty pit on our side, Steal!
+			result |= MOVE_CAPTURE;
+			int oppositePit = geometry.getOppositePit(currentPit);
+
+			if (observer == null)
+			{
+				pits[mancala] += pits[oppositePit] + 1;
+				pits[oppositePit] = 0;
+				pits[currentPit] = 0;
+			}
+			else
+			{
+				while (pits[oppositePit] > 0)
+				{
+					pits[oppositePit]--;
+					pits[mancala]++;
+					observer.stoneCaptured(oppositePit, mancala);
+				}
+				pits[currentPit]--;
+				pits[mancala]++;
+				observer.stoneCaptured(currentPit, mancala);
+			}
+		}
+
+		//Evaluate if the game is over, and sweep the remaining side if so
+		if (sideForPlayerIsEmpty(geometry, pits, MancalaModel.PLAYER_A))
+		{
+			sweepSide(geometry, pits, MancalaModel.PLAYER_B, observer);
+			result |= MOVE_GAME_OVER;
+		}
+		else if (sideForPlayerIsEmpty(geometry, pits, MancalaModel.PLAYER_B))
+		{
+			sweepSide(geometry, pits, MancalaModel.PLAYER_A, observer);
+			result |= MOVE_GAME_OVER;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Moves all of the stones on the given player's side into that player's mancala.
+	 * @param geometry the geometry of the board
+	 * @param pits the board
+	 * @param player the player whose side to sweep
+	 * @param observer the observer to report stone movements to, or null
+	 */
+	private static void sweepSide(BoardGeometry geometry, int[] pits, int player, MoveObserver observer)
+	{
+		int first = geometry.getFirstPitForPlayer(player);
+		int mancala = geometry.getMancalaForPlayer(player);
+		for (int i = first; i < mancala; i++)
+		{
+			if (observer == null)
+			{
+				pits[mancala] += pits[i];
+				pits[i] = 0;
+			}
+			else
+			{
+				while (pits[i] > 0)
+				{
+					pits[i]--;
+					pits[mancala]++;
+					observer.stoneSwept(i, mancala);
+				}
+			}
+		}
+	}
+}
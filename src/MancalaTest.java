@@ -7,14 +7,30 @@
  */
 public class MancalaTest 
 {
+	/**
+	 * Starts the game, on a board with the amount of pits per side given as the first argument if there is one.
+	 * @param args optionally the amount of pits per side
+	 */
 	public static void main(String[] args)
 	{
-		MancalaModel model = new Model();
+		BoardGeometry geometry = (args.length > 0) ? BoardGeometry.forPitsPerSide(Integer.parseInt(args[0])) : BoardGeometry.STANDARD;
+		MancalaModel model = new Model(geometry);
 		
 		MancalaFrame frame = new MancalaFrame(model);
-		frame.addBoardStyle(new BlueSteel());
-		frame.addBoardStyle(new Jungle());
+		for (BoardStyle style : createBoardStyles())
+		{
+			frame.addBoardStyle(style);
+		}
 		frame.initialize();
 		frame.setVisible(true);
 	}
+	
+	/**
+	 * Creates and returns every board style the game offers.
+	 * @return BoardStyle[] the board styles
+	 */
+	public static BoardStyle[] createBoardStyles()
+	{
+		return new BoardStyle[] { new BlueSteel(), new Jungle() };
+	}
 }
\ No newline at end of file
@@ -1,4 +1,5 @@
 import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
@@ -10,24 +11,46 @@ import javax.swing.event.ChangeListener;
  */
 public class Model implements MancalaModel {
 	private static final int MAX_UNDO = 3; //Maximum amount of undoes allowed per player per turn
-	private static final int TIME_INC = 350; //The time increment to wait when doing thread sleeps in the pit selection to help with animation
 	private int gameOver; //Holds either the winning player, or PLAYER_NONE if the game hasn't been started once or won yet
 	private boolean gameRunning; //Boolean of whether or not a game is currently running
 	private int initialStoneCount; //The initial stone count to use for pits every time the game is started, set by controller
 	private int turn; //The player whose turn it currently is
+	private final BoardGeometry geometry; //The layout of the board
 	private int[] pits; //The current state of the board
 	private int[] oldPits; //The previous state of the board (used for undoing turns)'
+	private int[][] playerOldPits; //The state of the board before each player's last move (used for undoing back to a player's turn)
+	private boolean[] playerMoved; //Boolean flags on whether each player has made a move that can still be undone back to
 	private int[] undoCount; //The counters for how many undos the players have performed.
 	private boolean justUndoed; //Boolean flag on whether an undo was just performed, to prevent two undos in a row without making a move.
 	private boolean gameJustStarted; //Boolean flag on whether or not a game just started and hasn't seen any moves, to prevent undoing before a move is made.
 	private boolean wasFreeTurn; //Boolean flag on whether or not the previous turn resulted in a free turn, and the turn hasn't changed, used to decide who to undo for
+	private boolean animated; //Boolean of whether or not moves record their stone movements for animation
+	private StepRecorder stepRecorder; //Observer that records the stone movements of a move
+	private long moveCount; //Amount of moves recorded so far, used to number the timelines
+	private volatile BoardSnapshot snapshot; //Last published state of the model, the only state other threads read
 	private ArrayList<ChangeListener> listeners; //All of our change listeners
+	private final ChangeEvent changeEvent; //Event passed to the listeners with every notification
+	private ArrayList<BoardChangeListener> boardListeners; //Listeners for the exact changes of the board
 	
 	public Model()
 	{
+		this(BoardGeometry.STANDARD);
+	}
+	
+	/**
+	 * Creates a model for a board with the given geometry.
+	 * @param geometry the layout of the board
+	 */
+	public Model(BoardGeometry geometry)
+	{
+		this.geometry = geometry;
 		listeners = new ArrayList<ChangeListener>();
-		pits = new int[TOTAL_PITS];
-		oldPits = new int[TOTAL_PITS];
+		changeEvent = new ChangeEvent(this);
+		boardListeners = new ArrayList<BoardChangeListener>();
+		pits = new int[geometry.getTotalPits()];
+		oldPits = new int[geometry.getTotalPits()];
+		playerOldPits = new int[2][geometry.getTotalPits()]; // 2 = Total players
+		playerMoved = new boolean[2];
 		undoCount = new int[2]; // 2 = Total players
 		initialStoneCount = 0; //Set to 0 because the controller needs to tell us how much this value should be
 		turn = PLAYER_NONE; //Set to none since the game hasn't been started once yet
@@ -36,6 +59,22 @@ public class Model implements MancalaModel {
 		justUndoed = false;
 		gameJustStarted = false;
 		wasFreeTurn = false;
+		animated = true;
+		stepRecorder = new StepRecorder();
+		moveCount = 0;
+		snapshot = null;
+		publish(null);
+	}
+	
+	/**
+	 * Sets whether or not moves made with selectPit record their stone movements in a
+	 * MoveTimeline, so a view can animate them. Moves are always applied at once, with a
+	 * single notification, either way.
+	 * @param animated true if moves should be recorded for animation
+	 */
+	public void setAnimated(boolean animated)
+	{
+		this.animated = animated;
 	}
 	
 	@Override
@@ -65,6 +104,33 @@ public class Model implements MancalaModel {
 				
 				turn = previousTurn;
 				
+				publish(null);
+				notifyListeners();
+			}
+		}
+	}
+	
+	@Override
+	public void undoTurn(int player)
+	{
+		if (!justUndoed && !gameJustStarted && gameRunning && playerMoved[player])
+		{
+			//Conditions for undo are cleared
+			if (undoCount[player] < MAX_UNDO)
+			{
+				//The player can still undo this turn, so undo every move back to before the player's last move
+				setArrayEqualToArray(pits, playerOldPits[player]);
+				undoCount[player]++;
+				justUndoed = true;
+				wasFreeTurn = false;
+				
+				//The saved boards of both players are newer than the board we went back to
+				playerMoved[PLAYER_A] = false;
+				playerMoved[PLAYER_B] = false;
+				
+				turn = player;
+				
+				publish(null);
 				notifyListeners();
 			}
 		}
@@ -73,11 +139,13 @@ public class Model implements MancalaModel {
 	@Override
 	public void selectPit(int pit) 
 	{
-		//Only works if the game is currently being played, and not in an inactive state, and the pit selected isn't already empty
-		if (gameRunning && (getStonesInPit(pit) > 0))
+		//Only works if the game is currently being played, and not in an inactive state, and the pit selected is a legal move for the player to move
+		if (gameRunning && MancalaRules.isValidMove(geometry, pits, turn, pit))
 		{
 			//Set previous state of board to current state, and game no longer JUST started, also reset undoCount of correct player based on whether or not we had free turn
 			setArrayEqualToArray(oldPits, pits);
+			setArrayEqualToArray(playerOldPits[turn], pits);
+			playerMoved[turn] = true;
 			gameJustStarted = false;
 			if (wasFreeTurn)
 			{
@@ -89,184 +157,30 @@ public class Model implements MancalaModel {
 			}
 			
 			int currentTurn = turn; //Keep track of the turn
-			turn = PLAYER_NONE; //Set turn to none to prevent the viewer from sending multiple requests
-			boolean freeTurn = false; //Boolean to keep track of if the current player get's an extra turn
-			
-			//Transfer pieces into a variable, and remove them from the selected pit (Essentially picking up the pieces)
-			int pieces = getStonesInPit(pit);
-			setStonesInPit(pit, 0);
 			
-			//Notify listeners to draw the current state of the board, then wait 1/4th of the Time Increment
-			notifyListeners();
-			sleep(TIME_INC / 4);
-			
-			//Start placing the picked up pieces in an animated way!
-			int piecesPlaced = 0; //How many pieces we have placed so far
-			int currentPit = constrainPit(pit + 1); //Set our current placement pit as the next pit past our select pit.
-			while (piecesPlaced < pieces)
-			{
-				/* Check all conditions */
-				
-				//First Check if we are trying to place into our enemy mancala
-				if ((isMancalaPit(currentPit)) && (getOwnerOfPit(currentPit) != currentTurn))
-				{
-					//It is an enemy mancala! Skip it!
-					currentPit = constrainPit(currentPit + 1);
-				}
-				
-				//Check if we are placing our last piece
-				if (piecesPlaced == pieces - 1)
-				{
-					//This is our last piece, do something special
-					if ((getStonesInPit(currentPit) == 0) 
-							&& (getOwnerOfPit(currentPit) == currentTurn)
-							&& (!isMancalaPit(currentPit)))
-					{
-						//Our last piece, and we're dropping it into an empty pit on our side
-						//Steal!
-						
-						//Place stone into current pit, then pause to show the stone was placed
-						addStonesToPit(currentPit, 1);
-						sleep(TIME_INC);
-						notifyListeners();
-						
-						//Determine stolen pieces
-						int stolenPieces = getStonesInPit(getOppositePit(currentPit)); //Pick up the stolen pieces
-						
-						//Notify then Pause for a 1/4th of TIME_INC to show the empty enemy pit
-						notifyListeners();
-						sleep(TIME_INC / 4);
-						
-						//Place the stolen pieces + our last piece into our mancala in an animated way
-						for (int p = 0; p < stolenPieces + 1; p++)
-						{
-							if (p == stolenPieces)
-							{
-								//If we are placing the last piece, remove the stone we placed in current pit to show it has been placed as well
-								setStonesInPit(currentPit, 0);
-							}
-							else
-							{
-								addStonesToPit(getOppositePit(currentPit), -1); //Subtract a stone from the enemy pit
-							}
-							
-							addStonesToPit(getMancalaForPlayer(currentTurn), 1);
-							
-							//Pause and notify to create animation of the stones being placed
-							sleep(TIME_INC);
-							notifyListeners();
-						}
-						
-						piecesPlaced++;
-					}
-					else if ((isMancalaPit(currentPit))
-							&& (getOwnerOfPit(currentPit) == currentTurn))
-					{
-						//Our last piece, and we're dropping it into our own mancala.
-						//Free Turn!
-						freeTurn = true;
-						addStonesToPit(currentPit, 1);
-						piecesPlaced++;
-					}
-					else
-					{
-						//Our last piece, and nothing special is happening to it, just place it
-						addStonesToPit(currentPit, 1);
-						piecesPlaced++;
-					}
-				}
-				else
-				{
-					//Not our last piece, place it and move on.
-					addStonesToPit(currentPit, 1);
-					piecesPlaced++;
-				}
-				
-				//Pause and then notify listeners to create animation effect
-				sleep(TIME_INC);
-				notifyListeners();
-				
-				currentPit = constrainPit(currentPit + 1); //Move on to next pit
-			}
-			
-			//Done placing pieces, evaluate the current game state to determine if game is over
-			if (sideForPlayerIsEmpty(PLAYER_A))
-			{
-				//Game Over, Player A side is clear! Clear Player B's side and place into his mancala
-				for (int i = PIT_B01; i <= PIT_B06; i++)
-				{
-					int totalStonesInPit = getStonesInPit(i);
-					for (int s = 1; s <= totalStonesInPit; s++)
-					{
-						addStonesToPit(i, -1); //Subtract stone from pit
-						addStonesToPit(getMancalaForPlayer(PLAYER_B), 1); //Add stone to mancala
-						
-						//Pause and notify to create animation effect
-						sleep(TIME_INC / 2);
-						notifyListeners();
-					}
-				}
-				gameRunning = false;
-			}
-			else if (sideForPlayerIsEmpty(PLAYER_B))
-			{
-				// Game Over, Player B side is clear! Clear Player A's side and place into his mancala
-				for (int i = PIT_A01; i <= PIT_A06; i++) 
-				{
-					int totalStonesInPit = getStonesInPit(i);
-					for (int s = 1; s <= totalStonesInPit; s++)
-					{
-						addStonesToPit(i, -1); //Subtract stone from pit
-						addStonesToPit(getMancalaForPlayer(PLAYER_A), 1); //Add stone to mancala
-						
-						//Pause and notify to create animation effect
-						sleep(TIME_INC / 2);
-						notifyListeners();
-					}
-				}
-				gameRunning = false;
-			}
+			//Apply the move with the rules engine, recording its stone movements when animated
+			stepRecorder.steps.clear();
+			int result = MancalaRules.applyMove(geometry, pits, pit, animated ? stepRecorder : null);
 			
 			//If game is over, determine winner, otherwise determine next turn
-			if (!gameRunning)
+			if ((result & MancalaRules.MOVE_GAME_OVER) != 0)
 			{
 				//Game is over, determine winner!
+				gameRunning = false;
 				turn = PLAYER_NONE; //Set turn to no one
-				
-				if (getMancalaForPlayer(PLAYER_A) > getMancalaForPlayer(PLAYER_B))
-				{
-					gameOver = PLAYER_A; //Player A won
-				}
-				else if (getMancalaForPlayer(PLAYER_B) > getMancalaForPlayer(PLAYER_A))
-				{
-					gameOver = PLAYER_B; //Player B won
-				}
+				gameOver = MancalaRules.getWinner(geometry, pits);
 			}
 			else
 			{
 				//If current player gets a free turn, change nothing, otherwise alternate to next player.
-				if (!freeTurn)
-				{
-					wasFreeTurn = false;
-					
-					if (currentTurn == PLAYER_A)
-					{
-						turn = PLAYER_B;
-					}
-					else if (currentTurn == PLAYER_B)
-					{
-						turn = PLAYER_A;
-					}
-				}
-				else
-				{
-					wasFreeTurn = true;
-					turn = currentTurn;
-				}
+				wasFreeTurn = (result & MancalaRules.MOVE_FREE_TURN) != 0;
+				turn = MancalaRules.getNextTurn(currentTurn, result);
 				
 				justUndoed = false; //Reset undo constraint tracker
 			}
 			
+			publish(animated ? new MoveTimeline(++moveCount, oldPits, pits, turn, stepRecorder.steps) : null);
+			
 			//Final notify to listeners
 			notifyListeners();
 		}
@@ -275,28 +189,25 @@ public class Model implements MancalaModel {
 	@Override
 	public boolean isMancalaPit(int pit) 
 	{
-		//If the pit is equal to a mancala, return so.
-		if (pit == PIT_A_MANCALA || pit == PIT_B_MANCALA)
-		{
-			return true;
-		}
-		
-		return false;
+		return geometry.isMancalaPit(pit);
 	}
 
 	@Override
 	public int getOwnerOfPit(int pit) 
 	{
-		/*If the given pit is below 0, or equal to or greater than the total pits we have, 
-		return no player since it is not a valid pit.*/
-		if (pit < 0 || pit >= TOTAL_PITS)
-		{
-			return PLAYER_NONE;
-		}
-		
-		//If the pit belongs to player A return so, otherwise it must belong to player B so return that.
-		if (pit <= PIT_A_MANCALA) return PLAYER_A;
-		return PLAYER_B;
+		return geometry.getOwnerOfPit(pit);
+	}
+	
+	@Override
+	public BoardSnapshot getSnapshot()
+	{
+		return snapshot;
+	}
+	
+	@Override
+	public BoardGeometry getGeometry()
+	{
+		return geometry;
 	}
 
 	@Override
@@ -318,44 +229,35 @@ public class Model implements MancalaModel {
 		// Set initial undo count
 		undoCount[PLAYER_A] = 0;
 		undoCount[PLAYER_B] = 0;
+		playerMoved[PLAYER_A] = false;
+		playerMoved[PLAYER_B] = false;
 		justUndoed = false;
 		gameJustStarted = true;
 		wasFreeTurn = false;
 
 		// Set initial stones
-		for (int i = 0; i < pits.length; i++) 
-		{
-			if (!isMancalaPit(i)) 
-			{
-				//Normal pit, set to initial stone count.
-				pits[i] = initialStoneCount;
-			} 
-			else 
-			{
-				//Mancala Pit, set to empty.
-				pits[i] = 0;
-			}
-		}
+		MancalaRules.setupBoard(geometry, pits, initialStoneCount);
 
+		publish(null);
 		notifyListeners();
 	}
 
 	@Override
 	public int hasGameEnded() 
 	{
-		return gameOver;
+		return snapshot.getWinner();
 	}
 
 	@Override
 	public int getPlayerTurn() 
 	{
-		return turn;
+		return snapshot.getPlayerTurn();
 	}
 
 	@Override
 	public int getStonesInPit(int pit) 
 	{
-		return pits[pit];
+		return snapshot.getStonesInPit(pit);
 	}
 
 	@Override
@@ -364,33 +266,43 @@ public class Model implements MancalaModel {
 		listeners.add(l);
 	}
 
+	@Override
+	public void addBoardChangeListener(BoardChangeListener l)
+	{
+		boardListeners.add(l);
+	}
+
 	@Override
 	public void notifyListeners() 
 	{
-		for (ChangeListener e : listeners)
+		for (int i = 0; i < listeners.size(); i++)
 		{
-			e.stateChanged(new ChangeEvent(this));
+			listeners.get(i).stateChanged(changeEvent);
 		}
 	}
 	
 	/**
-	 * Sets the stones in the given pit to the given amount
-	 * @param pit the pit to set stones in
-	 * @param amount the amount of stones to set to
-	 */
-	private void setStonesInPit(int pit, int amount)
-	{
-		pits[pit] = 0;
-	}
-	
-	/**
-	 * Adds the stone amount to the given pit.
-	 * @param pit the pit to add to
-	 * @param amount the amount to add 
+	 * Publishes the current state of the model as a new snapshot, replacing the last one in a single
+	 * volatile write, so readers on other threads never see a board that is halfway through a change.
+	 * The board change listeners are then told what changed since the last snapshot.
+	 * @param move the recorded move that led to the state, or null
 	 */
-	private void addStonesToPit(int pit, int amount)
+	private void publish(MoveTimeline move)
 	{
-		pits[pit] += amount;
+		BoardSnapshot previous = snapshot;
+		long version = (previous == null) ? 0 : previous.getVersion() + 1;
+		snapshot = new BoardSnapshot(version, pits, turn, gameOver, move);
+		
+		if (previous != null && !boardListeners.isEmpty())
+		{
+			//The turn only goes to no one while a game is running when the game ends
+			boolean ended = previous.getPlayerTurn() != PLAYER_NONE && turn == PLAYER_NONE;
+			BoardChangeEvent event = new BoardChangeEvent(this, previous.getBoard(), pits, previous.getPlayerTurn(), turn, ended, gameOver);
+			for (int i = 0; i < boardListeners.size(); i++)
+			{
+				boardListeners.get(i).boardChanged(event);
+			}
+		}
 	}
 	
 	/**
@@ -409,42 +321,6 @@ public class Model implements MancalaModel {
 		}
 	}
 	
-	/**
-	 * Constrians the pit integer to always refer to a pit, so if it is higher than
-	 * the highest pit identifier, it rolls back to 0 and then adds the difference and subtracting
-	 * by 1 to account for the first indentifier starting at 0.
-	 * EX: pit = 17; The highest pit identifier is 13, so constrainPit(17) returns 3 (17 - 13 - 1 = 3)
-	 */
-	private int constrainPit(int pit)
-	{
-		if (pit > (TOTAL_PITS - 1))
-		{
-			return (pit % (TOTAL_PITS - 1)) - 1;
-		}
-		
-		return pit;
-	}
-	
-	/**
-	 * Returns the mancala pit owned by the given player,
-	 * returns -1 if invalid player.
-	 * @param player the player to return the mancala pit for
-	 * @return int the identifier of the mancala pit
-	 */
-	private int getMancalaForPlayer(int player)
-	{
-		if (player == PLAYER_A)
-		{
-			return PIT_A_MANCALA;
-		}
-		else if (player == PLAYER_B)
-		{
-			return PIT_B_MANCALA;
-		}
-		
-		return -1;
-	}
-	
 	/**
 	 * Returns the opponent of the given player
 	 * @param player the player to get the opposite of
@@ -452,107 +328,48 @@ public class Model implements MancalaModel {
 	 */
 	private int getOppositePlayer(int player)
 	{
-		if (player == PLAYER_A)
-		{
-			return PLAYER_B;
-		}
-		else if (player == PLAYER_B)
-		{
-			return PLAYER_A;
-		}
-		
-		return PLAYER_NONE;
+		return MancalaRules.getOppositePlayer(player);
 	}
 	
 	/**
-	 * Returns the opposite pit across the board from the given pit.
-	 * @param pit the pit to check the opposite of
-	 * @return int the identifier of the opposite pit
+	 * Records the stone movements of a move as steps.
+	 * <br>Date Created: 10/18/2026
+	 * <br>Date Updated: 10/18/2026
+	 * @author Maxim Tiourin
+	 * @version 1.00
 	 */
-	private int getOppositePit(int pit)
+	private static final class StepRecorder implements MoveObserver
 	{
-		switch (pit) 
+		private final List<MoveStep> steps = new ArrayList<MoveStep>(); //Steps of the move being applied
+		
+		@Override
+		public void stonesPickedUp(int pit, int amount)
 		{
-			case PIT_A01:
-				return PIT_B06;
-			case PIT_A02:
-				return PIT_B05;
-			case PIT_A03:
-				return PIT_B04;
-			case PIT_A04:
-				return PIT_B03;
-			case PIT_A05:
-				return PIT_B02;
-			case PIT_A06:
-				return PIT_B01;
-			case PIT_A_MANCALA:
-				return PIT_B_MANCALA;
-			case PIT_B01:
-				return PIT_A06;
-			case PIT_B02:
-				return PIT_A05;
-			case PIT_B03:
-				return PIT_A04;
-			case PIT_B04:
-				return PIT_A03;
-			case PIT_B05:
-				return PIT_A02;
-			case PIT_B06:
-				return PIT_A01;
-			case PIT_B_MANCALA:
-				return PIT_A_MANCALA;
+			steps.add(new MoveStep(MoveStep.PICK_UP, pit, -1, amount));
 		}
-		
-		return -1;
-	}
-	
-	/**
-	 * Returns true if the player's normal pits are all empty
-	 * @param player the player to check for
-	 * @return boolean true if the normal pits are all empty for player.
-	 */
-	private boolean sideForPlayerIsEmpty(int player)
-	{
-		if (player == PLAYER_A)
+
+		@Override
+		public void stoneDropped(int pit)
 		{
-			if ((getStonesInPit(PIT_A01)
-					+ getStonesInPit(PIT_A02)
-					+ getStonesInPit(PIT_A03)
-					+ getStonesInPit(PIT_A04)
-					+ getStonesInPit(PIT_A05)
-					+ getStonesInPit(PIT_A06)) 
-					== 0)
-			{
-				return true;
-			}
+			steps.add(new MoveStep(MoveStep.DROP, pit, -1, 1));
 		}
-		else if (player == PLAYER_B)
+
+		@Override
+		public void pitSkipped(int pit)
 		{
-			if ((getStonesInPit(PIT_B01)
-					+ getStonesInPit(PIT_B02)
-					+ getStonesInPit(PIT_B03)
-					+ getStonesInPit(PIT_B04)
-					+ getStonesInPit(PIT_B05)
-					+ getStonesInPit(PIT_B06)) 
-					== 0)
-			{
-				return true;
-			}
+			steps.add(new MoveStep(MoveStep.SKIP, pit, -1, 0));
 		}
-		
-		return false;
-	}
-	
-	/**
-	 * Pauses the current thread and sleeps for the given time increment.
-	 * @param timeIncrement how long to sleep for
-	 */
-	private void sleep(int timeIncrement)
-	{
-		try {
-			Thread.sleep(timeIncrement);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
+
+		@Override
+		public void stoneCaptured(int fromPit, int toPit)
+		{
+			steps.add(new MoveStep(MoveStep.CAPTURE, fromPit, toPit, 1));
+		}
+
+		@Override
+		public void stoneSwept(int fromPit, int toPit)
+		{
+			steps.add(new MoveStep(MoveStep.SWEEP, fromPit, toPit, 1));
 		}
 	}
 }
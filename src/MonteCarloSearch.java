@@ -0,0 +1,563 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The MonteCarloSearch is a computer player that chooses moves with Monte Carlo tree search, using the UCT
+ * formula to balance trying the moves that have won the most playouts against the moves that have been tried the least.
+ * It does not need an evaluation function, so it stays strong on boards with many stones per pit, where an
+ * alpha beta search can not see far enough ahead.
+ * <br>
+ * The search is root parallel, every thread grows its own tree from the same position with its share of the
+ * playout budget, and the move whose children were visited the most over every tree is chosen. Each thread keeps
+ * its tree between searches, so when the next position is one it already explored the subtree is reused.
+ * <br>
+ * Positions in the tree are PackedBoards, and playouts sow on a preallocated packed board with a per thread
+ * random generator, so playouts never allocate or wait. Boards with more stones than a packed pit can hold are
+ * searched the same way on plain pit arrays instead, which is slower but has no limit on the amount of stones.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class MonteCarloSearch implements MancalaEngine
+{
+	/**
+	 * The default amount of playouts per search, over every thread.
+	 */
+	public static final int DEFAULT_PLAYOUTS = 100000;
+	/**
+	 * The default exploration constant of the UCT formula.
+	 */
+	public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+	private static final int REUSE_DEPTH = 4; //Amount of plies below the old root searched for the new position
+	private final ForkJoinPool pool; //Pool the trees are grown on
+	private final Worker[] workers; //The tree and playout state of every thread
+	private int playouts; //Amount of playouts per search, over every thread
+	private double exploration; //Exploration constant of the UCT formula
+	private int lastVisits; //Amount of visits of the chosen move in the last search
+	private double lastWinRate; //Fraction of playouts through the chosen move that were won
+	private long lastReusedVisits; //Amount of visits kept from previous searches in the last search
+
+	/**
+	 * Creates a search that runs on the given amount of threads.
+	 * @param threads the amount of threads
+	 */
+	public MonteCarloSearch(int threads)
+	{
+		threads = Math.max(1, threads);
+		pool = new ForkJoinPool(threads);
+		workers = new Worker[threads];
+		for (int i = 0; i < threads; i++)
+		{
+			workers[i] = new Worker(0x9E3779B97F4A7C15L * (i + 1));
+		}
+		playouts = DEFAULT_PLAYOUTS;
+		exploration = DEFAULT_EXPLORATION;
+	}
+
+	/**
+	 * Sets the amount of playouts each search makes, over every thread.
+	 * @param playouts the amount of playouts
+	 */
+	public void setPlayouts(int playouts)
+	{
+		this.playouts = Math.max(1, playouts);
+	}
+
+	/**
+	 * Returns the amount of playouts each search makes, over every thread.
+	 * @return int the amount of playouts
+	 */
+	public int getPlayouts()
+	{
+		return playouts;
+	}
+
+	/**
+	 * Sets the exploration constant of the UCT formula. Larger values try less promising moves more often.
+	 * @param exploration the exploration constant
+	 */
+	public void setExploration(double exploration)
+	{
+		this.exploration = Math.max(0, exploration);
+	}
+
+	/**
+	 * Returns the exploration constant of the UCT formula.
+	 * @return double the exploration constant
+	 */
+	public double getExploration()
+	{
+		return exploration;
+	}
+
+	/**
+	 * Returns the amount of threads the search runs on.
+	 * @return int the amount of threads
+	 */
+	public int getThreads()
+	{
+		return workers.length;
+	}
+
+	/**
+	 * Returns the amount of visits of the move chosen by the last search, over every tree.
+	 * @return int the amount of visits
+	 */
+	public int getLastVisits()
+	{
+		return lastVisits;
+	}
+
+	/**
+	 * Returns the fraction of playouts through the move chosen by the last search that
+	 * were won by the player who was to move, counting a draw as half a win.
+	 * @return double the win rate between 0 and 1
+	 */
+	public double getLastWinRate()
+	{
+		return lastWinRate;
+	}
+
+	/**
+	 * Returns the amount of root visits the last search kept from the trees of previous searches.
+	 * @return long the amount of reused visits
+	 */
+	public long getLastReusedVisits()
+	{
+		return lastReusedVisits;
+	}
+
+	/**
+	 * Forgets the trees of previous searches.
+	 */
+	public void clearTrees()
+	{
+		for (Worker worker : workers)
+		{
+			worker.root = null;
+		}
+	}
+
+	/**
+	 * Returns the best move for the player whose turn it is in the given model.
+	 * @param model the model to find a move for
+	 * @return int the pit to select, or -1 if there is no move to make
+	 */
+	public int findBestMove(MancalaModel model)
+	{
+		int[] pits = new int[MancalaModel.TOTAL_PITS];
+		for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+		{
+			pits[i] = model.getStonesInPit(i);
+		}
+
+		return findBestMove(pits, model.getPlayerTurn());
+	}
+
+	/**
+	 * Returns the best move for the given player on the given board. Boards with more than
+	 * PackedBoard.MAX_STONES_PER_PIT stones in total are searched on unpacked boards.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @return int the pit to select, or -1 if there is no move to make
+	 */
+	public int findBestMove(int[] pits, int player)
+	{
+		lastVisits = 0;
+		lastWinRate = 0;
+		lastReusedVisits = 0;
+
+		if (player != MancalaModel.PLAYER_A && player != MancalaModel.PLAYER_B
+				|| MancalaRules.sideForPlayerIsEmpty(pits, player))
+		{
+			return -1;
+		}
+
+		//Every stone could end up in one pit, so only pack the board if a packed pit can hold all of them
+		int stones = 0;
+		for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+		{
+			stones += pits[i];
+		}
+		final boolean packed = stones <= PackedBoard.MAX_STONES_PER_PIT;
+		final long low = packed ? PackedBoard.packLow(pits, player) : 0;
+		final long high = packed ? PackedBoard.packHigh(pits) : 0;
+		final int[] board = pits.clone();
+		final int turn = player;
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(workers.length);
+		for (int i = 0; i < workers.length; i++)
+		{
+			final Worker worker = workers[i];
+			final int budget = playouts / workers.length + ((i < playouts % workers.length) ? 1 : 0);
+			tasks.add(new Callable<Void>()
+			{
+				@Override
+				public Void call()
+				{
+					worker.search(packed ? new Node(low, high) : new Node(board.clone(), turn), budget);
+					return null;
+				}
+			});
+		}
+		pool.invokeAll(tasks);
+
+		//Choose the move visited the most over every tree
+		int first = MancalaRules.getFirstPitForPlayer(player);
+		int bestMove = -1;
+		int bestVisits = -1;
+		double bestWins = 0;
+		for (int move = 0; move < AlphaBetaSearch.PITS_PER_SIDE; move++)
+		{
+			int visits = 0;
+			double wins = 0;
+			for (Worker worker : workers)
+			{
+				Node child = worker.root.children[move];
+				if (child != null)
+				{
+					visits += child.visits;
+					wins += child.wins;
+				}
+			}
+
+			if (pits[first + move] > 0 && visits > bestVisits)
+			{
+				bestMove = first + move;
+				bestVisits = visits;
+				bestWins = wins;
+			}
+		}
+
+		for (Worker worker : workers)
+		{
+			lastReusedVisits += worker.reusedVisits;
+		}
+		lastVisits = bestVisits;
+		lastWinRate = (bestVisits > 0) ? bestWins / bestVisits : 0;
+		return bestMove;
+	}
+
+	/**
+	 * Stops the threads of the search. The search can not be used afterwards.
+	 */
+	public void shutdown()
+	{
+		pool.shutdown();
+	}
+
+	/**
+	 * The Node is one position in a search tree. Its statistics are from the point of view
+	 * of the player who made the move leading to it.
+	 */
+	private static class Node
+	{
+		private final long low; //Low word of the packed position, or 0 if the position is unpacked
+		private final long high; //High word of the packed position, or 0 if the position is unpacked
+		private final int[] pits; //Stones in every pit of the unpacked position, or null if the position is packed
+		private final int turn; //Player to move, or PLAYER_NONE once the game is over
+		private final int mover; //Player who made the move leading to this position
+		private final Node[] children; //Child for every pit of the player to move, or null if not expanded
+		private int untried; //Bit mask of the valid moves that have no child yet
+		private int visits; //Amount of playouts through this position
+		private double wins; //Amount of those playouts won by the mover, a draw counting as half
+
+		/**
+		 * Creates the root of a tree for the given packed position.
+		 */
+		Node(long low, long high)
+		{
+			this(low, high, null, PackedBoard.getTurn(low), MancalaModel.PLAYER_NONE);
+		}
+
+		/**
+		 * Creates the root of a tree for the given unpacked position, which is kept without copying.
+		 */
+		Node(int[] pits, int turn)
+		{
+			this(0, 0, pits, turn, MancalaModel.PLAYER_NONE);
+		}
+
+		Node(long low, long high, int[] pits, int turn, int mover)
+		{
+			this.low = low;
+			this.high = high;
+			this.pits = pits;
+			this.turn = turn;
+			this.mover = mover;
+			children = new Node[AlphaBetaSearch.PITS_PER_SIDE];
+
+			if (turn != MancalaModel.PLAYER_NONE)
+			{
+				int first = MancalaRules.getFirstPitForPlayer(turn);
+				for (int move = 0; move < AlphaBetaSearch.PITS_PER_SIDE; move++)
+				{
+					if (getStones(first + move) > 0)
+					{
+						untried |= 1 << move;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Returns the amount of stones in the given pit of the position.
+		 */
+		int getStones(int pit)
+		{
+			return (pits != null) ? pits[pit] : PackedBoard.getStones(low, high, pit);
+		}
+
+		/**
+		 * Returns true if the given node holds the same position as this one.
+		 */
+		boolean isPosition(Node other)
+		{
+			if (pits == null)
+			{
+				return other.pits == null && low == other.low && high == other.high;
+			}
+
+			return other.pits != null && turn == other.turn && Arrays.equals(pits, other.pits);
+		}
+	}
+
+	/**
+	 * The Worker grows one search tree on one thread, and owns the scratch
+	 * board and random generator its playouts use.
+	 */
+	private class Worker
+	{
+		private final long[] board; //Scratch packed board for playouts
+		private final int[] pits; //Scratch unpacked board for playouts on boards that are not packed
+		private final Node[] path; //Nodes visited by the current iteration
+		private Node root; //Root of the tree, kept between searches
+		private long seed; //State of the xorshift random generator
+		private long reusedVisits; //Root visits kept from the previous search
+
+		Worker(long seed)
+		{
+			board = new long[PackedBoard.WORDS];
+			pits = new int[MancalaModel.TOTAL_PITS];
+			path = new Node[AlphaBetaSearch.MAX_DEPTH * 4];
+			this.seed = seed;
+		}
+
+		/**
+		 * Grows the tree of the given root position by the given amount of playouts,
+		 * reusing the subtree of the position from the previous search if there is one.
+		 */
+		void search(Node position, int budget)
+		{
+			root = findReusable(root, position, REUSE_DEPTH);
+			if (root == null)
+			{
+				root = position;
+			}
+			reusedVisits = root.visits;
+
+			for (int i = 0; i < budget; i++)
+			{
+				iterate();
+			}
+		}
+
+		/**
+		 * Runs one selection, expansion, playout and backpropagation.
+		 */
+		private void iterate()
+		{
+			//Select down the tree while every move of a position has been tried
+			Node node = root;
+			int length = 0;
+			path[length++] = node;
+			while (node.untried == 0 && node.turn != MancalaModel.PLAYER_NONE && length < path.length - 1)
+			{
+				node = select(node);
+				path[length++] = node;
+			}
+
+			//Expand one untried move
+			int turn = node.turn;
+			if (node.untried != 0)
+			{
+				int move = pickBit(node.untried);
+				node.untried &= ~(1 << move);
+				int pit = MancalaRules.getFirstPitForPlayer(turn) + move;
+				Node child;
+				if (node.pits == null)
+				{
+					board[0] = node.low;
+					board[1] = node.high;
+					PackedBoard.applyMove(board, 0, 0, pit);
+					child = new Node(board[0], board[1], null, PackedBoard.getTurn(board[0]), turn);
+				}
+				else
+				{
+					int[] next = node.pits.clone();
+					int result = MancalaRules.applyMove(next, pit);
+					child = new Node(0, 0, next, MancalaRules.getNextTurn(turn, result), turn);
+				}
+				node.children[move] = child;
+				node = child;
+				path[length++] = node;
+			}
+
+			//Play randomly to the end of the game
+			int mancalaA;
+			int mancalaB;
+			if (node.pits == null)
+			{
+				board[0] = node.low;
+				board[1] = node.high;
+				playout(board);
+				mancalaA = PackedBoard.getStones(board[0], board[1], MancalaModel.PIT_A_MANCALA);
+				mancalaB = PackedBoard.getStones(board[0], board[1], MancalaModel.PIT_B_MANCALA);
+			}
+			else
+			{
+				System.arraycopy(node.pits, 0, pits, 0, pits.length);
+				playout(pits, node.turn);
+				mancalaA = pits[MancalaModel.PIT_A_MANCALA];
+				mancalaB = pits[MancalaModel.PIT_B_MANCALA];
+			}
+			double rewardA = (mancalaA > mancalaB) ? 1 : (mancalaA == mancalaB) ? 0.5 : 0;
+
+			//Credit every position on the path to the player who moved into it
+			for (int i = 0; i < length; i++)
+			{
+				Node visited = path[i];
+				visited.visits++;
+				visited.wins += (visited.mover == MancalaModel.PLAYER_A) ? rewardA : 1 - rewardA;
+			}
+		}
+
+		/**
+		 * Returns the child of the given fully expanded node with the highest UCT value.
+		 */
+		private Node select(Node node)
+		{
+			double logVisits = Math.log(node.visits);
+			Node best = null;
+			double bestValue = Double.NEGATIVE_INFINITY;
+			for (Node child : node.children)
+			{
+				if (child != null)
+				{
+					double value = child.wins / child.visits + exploration * Math.sqrt(logVisits / child.visits);
+					if (value > bestValue)
+					{
+						bestValue = value;
+						best = child;
+					}
+				}
+			}
+
+			return best;
+		}
+
+		/**
+		 * Plays uniformly random moves on the given packed board until the game is over.
+		 */
+		private void playout(long[] packed)
+		{
+			int turn = PackedBoard.getTurn(packed[0]);
+			while (turn != MancalaModel.PLAYER_NONE)
+			{
+				int first = MancalaRules.getFirstPitForPlayer(turn);
+				int valid = 0;
+				for (int move = 0; move < AlphaBetaSearch.PITS_PER_SIDE; move++)
+				{
+					if (PackedBoard.getStones(packed[0], packed[1], first + move) > 0)
+					{
+						valid |= 1 << move;
+					}
+				}
+
+				PackedBoard.applyMove(packed, 0, 0, first + pickBit(valid));
+				turn = PackedBoard.getTurn(packed[0]);
+			}
+		}
+
+		/**
+		 * Plays uniformly random moves on the given unpacked board, with the given player to move, until the game is over.
+		 */
+		private void playout(int[] board, int turn)
+		{
+			while (turn != MancalaModel.PLAYER_NONE)
+			{
+				int first = MancalaRules.getFirstPitForPlayer(turn);
+				int valid = 0;
+				for (int move = 0; move < AlphaBetaSearch.PITS_PER_SIDE; move++)
+				{
+					if (board[first + move] > 0)
+					{
+						valid |= 1 << move;
+					}
+				}
+
+				int result = MancalaRules.applyMove(board, first + pickBit(valid));
+				turn = MancalaRules.getNextTurn(turn, result);
+			}
+		}
+
+		/**
+		 * Returns the index of a uniformly random set bit of the given non zero mask.
+		 */
+		private int pickBit(int mask)
+		{
+			int skip = (int) ((nextRandom() >>> 33) % Integer.bitCount(mask));
+			for (int i = 0; i < skip; i++)
+			{
+				mask &= mask - 1;
+			}
+
+			return Integer.numberOfTrailingZeros(mask);
+		}
+
+		/**
+		 * Returns the next value of the xorshift random generator.
+		 */
+		private long nextRandom()
+		{
+			seed ^= seed << 13;
+			seed ^= seed >>> 7;
+			seed ^= seed << 17;
+			return seed;
+		}
+
+		/**
+		 * Returns the node holding the given position within the given amount of plies below the given node,
+		 * or null if it is not there.
+		 */
+		private Node findReusable(Node node, Node position, int depth)
+		{
+			if (node == null)
+			{
+				return null;
+			}
+			if (node.isPosition(position))
+			{
+				return node;
+			}
+			if (depth == 0)
+			{
+				return null;
+			}
+
+			for (Node child : node.children)
+			{
+				Node found = findReusable(child, position, depth - 1);
+				if (found != null)
+				{
+					return found;
+				}
+			}
+
+			return null;
+		}
+	}
+}
@@ -0,0 +1,299 @@
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import javax.swing.Timer;
+
+/**
+ * The MoveAnimator plays the steps of recorded moves back on the event dispatch thread with a javax.swing.Timer,
+ * keeping the board that should be shown while the model itself has already moved on. Moves that arrive while
+ * another is playing are queued behind it. Listeners are told exactly which pits of the shown board changed, on the
+ * event dispatch thread, and every method must be called on the event dispatch thread as well.
+ * <br>
+ * The speed divides the delay before every step, instant mode shows the board after each move right away, and
+ * skipping to the end finishes every queued move at once.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class MoveAnimator implements ActionListener
+{
+	/**
+	 * The delay before a stone is dropped or captured at normal speed, in milliseconds.
+	 */
+	public static final int STEP_DELAY = 350;
+	private final Timer timer; //Timer that fires when the next step is due
+	private final ArrayDeque<MoveTimeline> queue; //Moves waiting to be played
+	private final BoardGeometry geometry; //Layout of the board
+	private final ArrayList<BoardChangeListener> listeners; //Listeners to notify when the shown board changes
+	private final int[] pits; //Board being shown
+	private int turn; //Player to move on the shown board, PLAYER_NONE while a move is playing
+	private final int[] notifiedPits; //Board the listeners were last told about
+	private int notifiedTurn; //Turn the listeners were last told about
+	private MoveTimeline current; //Move being played, or null
+	private int nextStep; //Index of the next step of the current move
+	private double speed; //Factor the step delays are divided by
+	private boolean instant; //Boolean flag on whether moves are shown at once instead of played
+
+	/**
+	 * Creates an animator for boards with the given geometry.
+	 * @param geometry the layout of the board
+	 */
+	public MoveAnimator(BoardGeometry geometry)
+	{
+		this.geometry = geometry;
+		timer = new Timer(0, this);
+		timer.setRepeats(false);
+		queue = new ArrayDeque<MoveTimeline>();
+		listeners = new ArrayList<BoardChangeListener>();
+		pits = new int[geometry.getTotalPits()];
+		turn = MancalaModel.PLAYER_NONE;
+		notifiedPits = new int[geometry.getTotalPits()];
+		notifiedTurn = MancalaModel.PLAYER_NONE;
+		current = null;
+		nextStep = 0;
+		speed = 1;
+		instant = false;
+	}
+
+	/**
+	 * Adds a listener that is told which pits changed whenever the shown board changes.
+	 * @param l the listener
+	 */
+	public void addBoardChangeListener(BoardChangeListener l)
+	{
+		listeners.add(l);
+	}
+
+	/**
+	 * Sets the speed of the animation, where 1 is normal speed and 2 is twice as fast.
+	 * @param speed the speed
+	 */
+	public void setSpeed(double speed)
+	{
+		if (!(speed > 0))
+		{
+			throw new IllegalArgumentException("Speed must be positive: " + speed);
+		}
+
+		this.speed = speed;
+	}
+
+	/**
+	 * Returns the speed of the animation.
+	 * @return double the speed
+	 */
+	public double getSpeed()
+	{
+		return speed;
+	}
+
+	/**
+	 * Sets whether moves are shown at once instead of played step by step. Turning it on finishes any playing move.
+	 * @param instant true if moves should be shown at once
+	 */
+	public void setInstant(boolean instant)
+	{
+		this.instant = instant;
+		if (instant)
+		{
+			skipToEnd();
+		}
+	}
+
+	/**
+	 * Returns true if moves are shown at once instead of played step by step.
+	 * @return boolean true in instant mode
+	 */
+	public boolean isInstant()
+	{
+		return instant;
+	}
+
+	/**
+	 * Returns true if a move is being played.
+	 * @return boolean true while animating
+	 */
+	public boolean isAnimating()
+	{
+		return current != null;
+	}
+
+	/**
+	 * Returns the amount of stones in the given pit of the shown board.
+	 * @param pit the pit
+	 * @return int the amount of stones
+	 */
+	public int getStonesInPit(int pit)
+	{
+		return pits[pit];
+	}
+
+	/**
+	 * Returns the player to move on the shown board, which is PLAYER_NONE while a move is playing.
+	 * @return int the player
+	 */
+	public int getPlayerTurn()
+	{
+		return turn;
+	}
+
+	/**
+	 * Plays the given move once the moves before it have been played.
+	 * @param move the move to play
+	 */
+	public void play(MoveTimeline move)
+	{
+		queue.add(move);
+		if (instant)
+		{
+			skipToEnd();
+		}
+		else if (current == null)
+		{
+			startNextMove();
+		}
+	}
+
+	/**
+	 * Stops playing, drops the queued moves, and shows the given board, such as after a new game or an undo.
+	 * @param board the board to show
+	 * @param turn the player to move on the board
+	 */
+	public void show(int[] board, int turn)
+	{
+		showBoard(board, turn, false);
+	}
+
+	/**
+	 * Finishes the playing move and every queued move at once, showing the board after the last of them.
+	 */
+	public void skipToEnd()
+	{
+		MoveTimeline last = queue.isEmpty() ? current : queue.peekLast();
+		if (last != null)
+		{
+			showBoard(last.getAfter(), last.getTurn(), last.getTurn() == MancalaModel.PLAYER_NONE);
+		}
+	}
+
+	@Override
+	public void actionPerformed(ActionEvent e)
+	{
+		if (current == null)
+		{
+			return;
+		}
+
+		//Apply the due step, along with any steps right after it that take no time
+		do
+		{
+			current.getSteps().get(nextStep++).apply(pits);
+		}
+		while (nextStep < current.getSteps().size() && getBaseDelay(current.getSteps().get(nextStep)) == 0);
+
+		if (nextStep < current.getSteps().size())
+		{
+			notifyListeners(false);
+			schedule(current.getSteps().get(nextStep));
+		}
+		else
+		{
+			finishMove();
+		}
+	}
+
+	/**
+	 * Starts playing the next queued move, if there is one.
+	 */
+	private void startNextMove()
+	{
+		current = queue.poll();
+		if (current == null)
+		{
+			return;
+		}
+
+		System.arraycopy(current.getBefore(), 0, pits, 0, pits.length);
+		turn = MancalaModel.PLAYER_NONE;
+		nextStep = 0;
+		if (current.getSteps().isEmpty())
+		{
+			finishMove();
+		}
+		else
+		{
+			schedule(current.getSteps().get(0));
+		}
+	}
+
+	/**
+	 * Shows the board after the current move, then starts the next queued move.
+	 */
+	private void finishMove()
+	{
+		System.arraycopy(current.getAfter(), 0, pits, 0, pits.length);
+		turn = current.getTurn();
+		current = null;
+		notifyListeners(turn == MancalaModel.PLAYER_NONE);
+		startNextMove();
+	}
+
+	/**
+	 * Stops playing, drops the queued moves, and shows the given board.
+	 */
+	private void showBoard(int[] board, int turn, boolean gameOver)
+	{
+		timer.stop();
+		queue.clear();
+		current = null;
+		System.arraycopy(board, 0, pits, 0, pits.length);
+		this.turn = turn;
+		notifyListeners(gameOver);
+	}
+
+	/**
+	 * Starts the timer to fire when the given step is due.
+	 */
+	private void schedule(MoveStep step)
+	{
+		timer.setInitialDelay((int) Math.round(getBaseDelay(step) / speed));
+		timer.restart();
+	}
+
+	/**
+	 * Returns the delay before the given step at normal speed, in milliseconds.
+	 */
+	private static int getBaseDelay(MoveStep step)
+	{
+		switch (step.getType())
+		{
+			case MoveStep.DROP:
+			case MoveStep.CAPTURE:
+				return STEP_DELAY;
+			case MoveStep.SWEEP:
+				return STEP_DELAY / 2;
+			default:
+				return 0;
+		}
+	}
+
+	/**
+	 * Tells every listener what changed on the shown board since they were last notified.
+	 * @param gameOver true if the shown board is the end of a game that was being played
+	 */
+	private void notifyListeners(boolean gameOver)
+	{
+		int winner = gameOver ? MancalaRules.getWinner(geometry, pits) : MancalaModel.PLAYER_NONE;
+		BoardChangeEvent event = new BoardChangeEvent(this, notifiedPits, pits, notifiedTurn, turn, gameOver, winner);
+		System.arraycopy(pits, 0, notifiedPits, 0, pits.length);
+		notifiedTurn = turn;
+
+		for (BoardChangeListener l : listeners)
+		{
+			l.boardChanged(event);
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/**
+ * The move observer interface describes a strategy for watching the individual
+ * stone movements made by the rules engine while it applies a move, so that
+ * things such as animation can be layered on top of the rules.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public interface MoveObserver
+{
+	/**
+	 * Called after the stones of the selected pit have been picked up.
+	 * @param pit the pit that was emptied
+	 * @param amount the amount of stones picked up
+	 */
+	void stonesPickedUp(int pit, int amount);
+	/**
+	 * Called after a single stone has been dropped into a pit while sowing.
+	 * @param pit the pit the stone was dropped into
+	 */
+	void stoneDropped(int pit);
+	/**
+	 * Called when sowing passes over the enemy mancala without dropping a stone into it.
+	 * @param pit the mancala that was skipped
+	 */
+	void pitSkipped(int pit);
+	/**
+	 * Called after a single stone has been moved into a mancala as part of a capture.
+	 * @param fromPit the pit the stone was taken from
+	 * @param toPit the mancala the stone was placed in
+	 */
+	void stoneCaptured(int fromPit, int toPit);
+	/**
+	 * Called after a single stone has been moved into a mancala as part of the
+	 * end of game sweep.
+	 * @param fromPit the pit the stone was taken from
+	 * @param toPit the mancala the stone was placed in
+	 */
+	void stoneSwept(int fromPit, int toPit);
+}
@@ -0,0 +1,111 @@
+/**
+ * A MoveStep is one visible stone movement of a move, as reported by the rules engine
+ * while the move is applied: the selected pit being picked up, a stone being dropped,
+ * the enemy mancala being skipped, or a stone being moved into a mancala by a capture
+ * or by the end of game sweep. Steps are immutable, and replaying the steps of a move
+ * on the board from before the move gives the board after it.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public final class MoveStep
+{
+	/**
+	 * Step type for the stones of the selected pit being picked up.
+	 */
+	public static final int PICK_UP = 0;
+	/**
+	 * Step type for a single stone being dropped into a pit.
+	 */
+	public static final int DROP = 1;
+	/**
+	 * Step type for sowing passing over the enemy mancala.
+	 */
+	public static final int SKIP = 2;
+	/**
+	 * Step type for a single stone being moved into a mancala by a capture.
+	 */
+	public static final int CAPTURE = 3;
+	/**
+	 * Step type for a single stone being moved into a mancala by the end of game sweep.
+	 */
+	public static final int SWEEP = 4;
+	private final int type; //Type of the step
+	private final int pit; //Pit the step takes stones from, drops into or skips
+	private final int target; //Mancala a captured or swept stone is moved to, or -1
+	private final int amount; //Amount of stones picked up, or 1 for a single stone
+
+	public MoveStep(int type, int pit, int target, int amount)
+	{
+		if (type < PICK_UP || type > SWEEP)
+		{
+			throw new IllegalArgumentException("Unknown step type: " + type);
+		}
+
+		this.type = type;
+		this.pit = pit;
+		this.target = target;
+		this.amount = amount;
+	}
+
+	/**
+	 * Returns the type of the step.
+	 * @return int one of PICK_UP, DROP, SKIP, CAPTURE or SWEEP
+	 */
+	public int getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Returns the pit the step takes stones from, drops a stone into, or skips.
+	 * @return int the pit
+	 */
+	public int getPit()
+	{
+		return pit;
+	}
+
+	/**
+	 * Returns the mancala a captured or swept stone is moved to, or -1 for other steps.
+	 * @return int the target mancala
+	 */
+	public int getTarget()
+	{
+		return target;
+	}
+
+	/**
+	 * Returns the amount of stones the step moves.
+	 * @return int the amount of stones
+	 */
+	public int getAmount()
+	{
+		return amount;
+	}
+
+	/**
+	 * Applies the step to the given board.
+	 * @param pits the board to apply the step to
+	 */
+	public void apply(int[] pits)
+	{
+		switch (type)
+		{
+			case PICK_UP:
+				pits[pit] -= amount;
+				break;
+			case DROP:
+				pits[pit] += amount;
+				break;
+			case CAPTURE:
+			case SWEEP:
+				pits[pit] -= amount;
+				pits[target] += amount;
+				break;
+			default:
+				break;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A MoveTimeline records a move made on a model: the board before and after the move,
+ * the player whose turn it is afterwards, and the steps the stones took in between.
+ * Timelines are numbered in the order the model made the moves, and are immutable,
+ * so they can be handed from the thread that made the move to the event dispatch thread.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public final class MoveTimeline
+{
+	private final long sequence; //Number of the move within the model, counting up from 1
+	private final int[] before; //Board before the move
+	private final int[] after; //Board after the move
+	private final int turn; //Player to move after the move, or PLAYER_NONE once the game is over
+	private final List<MoveStep> steps; //Stone movements of the move, empty if they were not recorded
+
+	/**
+	 * Creates a timeline, copying the given boards and steps.
+	 * @param sequence the number of the move within the model
+	 * @param before the board before the move
+	 * @param after the board after the move
+	 * @param turn the player to move after the move
+	 * @param steps the stone movements of the move
+	 */
+	public MoveTimeline(long sequence, int[] before, int[] after, int turn, List<MoveStep> steps)
+	{
+		this.sequence = sequence;
+		this.before = before.clone();
+		this.after = after.clone();
+		this.turn = turn;
+		this.steps = Collections.unmodifiableList(new ArrayList<MoveStep>(steps));
+	}
+
+	/**
+	 * Returns the number of the move within the model, counting up from 1.
+	 * @return long the sequence number
+	 */
+	public long getSequence()
+	{
+		return sequence;
+	}
+
+	/**
+	 * Returns a copy of the board before the move.
+	 * @return int[] the board
+	 */
+	public int[] getBefore()
+	{
+		return before.clone();
+	}
+
+	/**
+	 * Returns a copy of the board after the move.
+	 * @return int[] the board
+	 */
+	public int[] getAfter()
+	{
+		return after.clone();
+	}
+
+	/**
+	 * Returns the player to move after the move, or PLAYER_NONE once the game is over.
+	 * @return int the player
+	 */
+	public int getTurn()
+	{
+		return turn;
+	}
+
+	/**
+	 * Returns the stone movements of the move, in order, which is empty if they were not recorded.
+	 * @return List the steps
+	 */
+	public List<MoveStep> getSteps()
+	{
+		return steps;
+	}
+}
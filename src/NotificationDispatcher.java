@@ -0,0 +1,127 @@
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+/**
+ * The NotificationDispatcher sits between a model and the views that listen to it. It listens to the model
+ * itself, and coalesces bursts of changes into at most one delivery per display frame, which its own listeners
+ * receive on the event dispatch thread. A change arriving while a delivery is already pending is folded into it,
+ * and a change arriving sooner than a frame after the last delivery waits on a javax.swing.Timer for the rest of
+ * the frame. Every delivery passes the same event object.
+ * <br>
+ * Listeners are only told that something changed, so they should read the latest state of the model, such as its
+ * snapshot, when they are notified. Listeners must be added on the event dispatch thread, while changes may be
+ * reported from any thread.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class NotificationDispatcher implements ChangeListener, ActionListener
+{
+	/**
+	 * The default amount of deliveries per second, which is the refresh rate of a common display.
+	 */
+	public static final int DEFAULT_FRAMES_PER_SECOND = 60;
+	private final ArrayList<ChangeListener> listeners; //Listeners to deliver to
+	private final ChangeEvent event; //Event passed with every delivery
+	private final long frameNanos; //Least time between two deliveries, in nanoseconds
+	private final AtomicBoolean pending; //Boolean flag on whether a delivery is scheduled and not yet started
+	private final Runnable scheduler; //Schedules the pending delivery on the event dispatch thread
+	private final Timer timer; //Timer that fires when a delayed delivery is due
+	private long lastDelivery; //Time of the last delivery, in nanoseconds
+
+	/**
+	 * Creates a dispatcher delivering at most the given amount of times per second.
+	 * @param source the object the delivered events name as their source, usually the model
+	 * @param framesPerSecond the most deliveries per second
+	 */
+	public NotificationDispatcher(Object source, int framesPerSecond)
+	{
+		if (framesPerSecond <= 0)
+		{
+			throw new IllegalArgumentException("Frames per second must be positive: " + framesPerSecond);
+		}
+
+		listeners = new ArrayList<ChangeListener>();
+		event = new ChangeEvent(source);
+		frameNanos = 1000000000L / framesPerSecond;
+		pending = new AtomicBoolean(false);
+		scheduler = new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				schedule();
+			}
+		};
+		timer = new Timer(0, this);
+		timer.setRepeats(false);
+		lastDelivery = System.nanoTime() - frameNanos;
+	}
+
+	/**
+	 * Adds a listener that is notified on the event dispatch thread after changes.
+	 * @param l the listener
+	 */
+	public void addChangeListener(ChangeListener l)
+	{
+		listeners.add(l);
+	}
+
+	/**
+	 * Reports a change from any thread, scheduling a delivery unless one is pending already.
+	 */
+	@Override
+	public void stateChanged(ChangeEvent e)
+	{
+		if (pending.compareAndSet(false, true))
+		{
+			SwingUtilities.invokeLater(scheduler);
+		}
+	}
+
+	@Override
+	public void actionPerformed(ActionEvent e)
+	{
+		deliver();
+	}
+
+	/**
+	 * Delivers the pending change now if a frame has passed since the last delivery, and starts the timer for
+	 * the rest of the frame otherwise.
+	 */
+	private void schedule()
+	{
+		long wait = lastDelivery + frameNanos - System.nanoTime();
+		if (wait <= 0)
+		{
+			deliver();
+		}
+		else
+		{
+			timer.setInitialDelay((int) ((wait + 999999) / 1000000));
+			timer.restart();
+		}
+	}
+
+	/**
+	 * Notifies every listener. The pending flag is cleared first, so a change made by a listener schedules
+	 * another delivery instead of being lost.
+	 */
+	private void deliver()
+	{
+		pending.set(false);
+		lastDelivery = System.nanoTime();
+		for (int i = 0; i < listeners.size(); i++)
+		{
+			listeners.get(i).stateChanged(event);
+		}
+	}
+}
@@ -0,0 +1,394 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The OpeningBook holds the best move of every position within a few moves of the starting positions, found
+ * offline with a deep AlphaBetaSearch, so the first moves of a game can be played right away instead of searched.
+ * <br>
+ * The book is an open addressing hash table keyed by the two words of the PackedBoard of a position, which include
+ * the player to move. Every entry holds the move and its score in a short, so a lookup is a hash and a few array reads.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class OpeningBook
+{
+	/**
+	 * The file name the user interface loads the book from, if it exists.
+	 */
+	public static final String DEFAULT_FILE = "mancala-opening.book";
+	/**
+	 * The default amount of moves from the start that are in the book.
+	 */
+	public static final int DEFAULT_PLIES = 4;
+	/**
+	 * The default depth, in plies, the positions of the book are searched to.
+	 */
+	public static final int DEFAULT_DEPTH = 18;
+	private static final int MAGIC = 0x4D4E4F42; //File signature
+	private static final int VERSION = 1;
+	private static final int MIN_CAPACITY = 16;
+	private long[] lows; //Low word of the position of every slot, 0 when the slot is empty
+	private long[] highs; //High word of the position of every slot
+	private short[] entries; //Move in the low byte and score in the high byte of every slot
+	private int size; //Amount of positions in the book
+
+	/**
+	 * Creates an empty book.
+	 */
+	public OpeningBook()
+	{
+		this(MIN_CAPACITY);
+	}
+
+	private OpeningBook(int capacity)
+	{
+		lows = new long[capacity];
+		highs = new long[capacity];
+		entries = new short[capacity];
+		size = 0;
+	}
+
+	/**
+	 * Returns the amount of positions in the book.
+	 * @return int the amount of positions
+	 */
+	public int getSize()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns the book move for the given player on the given board, or -1 if the board is not in the book.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @return int the pit to select, or -1
+	 */
+	public int getMove(int[] pits, int player)
+	{
+		int slot = findBoard(pits, player);
+		return (slot < 0) ? -1 : (entries[slot] & 0xFF);
+	}
+
+	/**
+	 * Returns the score of the book move for the given player on the given board, from the point of view
+	 * of the player to move, or 0 if the board is not in the book.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @return int the score
+	 */
+	public int getScore(int[] pits, int player)
+	{
+		int slot = findBoard(pits, player);
+		return (slot < 0) ? 0 : (entries[slot] >> 8);
+	}
+
+	/**
+	 * Writes the book to the given file, so it can be read with load.
+	 * @param file the file to write
+	 * @throws IOException if the file can not be written
+	 */
+	public void save(File file) throws IOException
+	{
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(lows.length);
+			out.writeInt(size);
+			for (int i = 0; i < lows.length; i++)
+			{
+				out.writeLong(lows[i]);
+				out.writeLong(highs[i]);
+				out.writeShort(entries[i]);
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+	}
+
+	/**
+	 * Reads a book written by save.
+	 * @param file the file to read
+	 * @return OpeningBook the book
+	 * @throws IOException if the file can not be read, is not an opening book, or is truncated or corrupt
+	 */
+	public static OpeningBook load(File file) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+			{
+				throw new IOException("Not an opening book: " + file);
+			}
+			int capacity = in.readInt();
+			int size = in.readInt();
+			if (capacity < MIN_CAPACITY || Integer.bitCount(capacity) != 1 || size < 0 || size >= capacity)
+			{
+				throw new IOException("Corrupt opening book: " + file);
+			}
+
+			//Every stored position must be one the book could have written, and the table must be at most half
+			//full like put keeps it, so that every probe sequence ends at an empty slot
+			OpeningBook book = new OpeningBook(capacity);
+			int occupied = 0;
+			for (int i = 0; i < capacity; i++)
+			{
+				book.lows[i] = in.readLong();
+				book.highs[i] = in.readLong();
+				book.entries[i] = in.readShort();
+				if (book.lows[i] != 0)
+				{
+					int turn = PackedBoard.getTurn(book.lows[i]);
+					int move = book.entries[i] & 0xFF;
+					if ((turn != MancalaModel.PLAYER_A && turn != MancalaModel.PLAYER_B) || (move != 0xFF
+							&& (move >= MancalaModel.TOTAL_PITS || !PackedBoard.isValidMove(book.lows[i], book.highs[i], move))))
+					{
+						throw new IOException("Corrupt opening book entry " + i + ": " + file);
+					}
+					occupied++;
+				}
+			}
+			if (occupied != size || size * 2 > capacity || in.read() != -1)
+			{
+				throw new IOException("Corrupt opening book: " + file);
+			}
+			book.size = size;
+
+			return book;
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	/**
+	 * Builds a book of every position within the given amount of moves of the starting positions for the given
+	 * stone counts, searching each to the given depth. The positions are searched in parallel on the given amount of threads.
+	 * @param stoneCounts the initial stones per pit of the starting positions
+	 * @param plies the amount of moves from the start that are in the book
+	 * @param depth the depth, in plies, every position is searched to
+	 * @param threads the amount of threads
+	 * @return OpeningBook the book
+	 */
+	public static OpeningBook build(int[] stoneCounts, int plies, final int depth, int threads)
+	{
+		//Collect every position within the given amount of moves of the starts, with each position once
+		OpeningBook book = new OpeningBook();
+		final List<long[]> positions = new ArrayList<long[]>();
+		int[] pits = new int[MancalaModel.TOTAL_PITS];
+		long[] board = new long[PackedBoard.WORDS * 2];
+		for (int stones : stoneCounts)
+		{
+			MancalaRules.setupBoard(pits, stones);
+			List<long[]> frontier = new ArrayList<long[]>();
+			frontier.add(new long[] { PackedBoard.packLow(pits, MancalaModel.PLAYER_A), PackedBoard.packHigh(pits) });
+
+			for (int ply = 0; ply <= plies && !frontier.isEmpty(); ply++)
+			{
+				List<long[]> next = new ArrayList<long[]>();
+				for (long[] position : frontier)
+				{
+					if (book.find(position[0], position[1]) >= 0)
+					{
+						continue;
+					}
+					book.put(position[0], position[1], -1, 0);
+					positions.add(position);
+
+					//Make every move from the parent in the first two words into the last two words
+					board[0] = position[0];
+					board[1] = position[1];
+					for (int pit = 0; pit < MancalaModel.TOTAL_PITS && ply < plies; pit++)
+					{
+						if (PackedBoard.isValidMove(board[0], board[1], pit))
+						{
+							PackedBoard.applyMove(board, 0, PackedBoard.WORDS, pit);
+							if (PackedBoard.getTurn(board[PackedBoard.WORDS]) != MancalaModel.PLAYER_NONE)
+							{
+								next.add(new long[] { board[PackedBoard.WORDS], board[PackedBoard.WORDS + 1] });
+							}
+						}
+					}
+				}
+				frontier = next;
+			}
+		}
+
+		//Search every position, splitting them evenly over the threads
+		final short[] results = new short[positions.size()];
+		threads = Math.max(1, threads);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try
+		{
+			List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(threads);
+			for (int t = 0; t < threads; t++)
+			{
+				final int first = t;
+				final int step = threads;
+				tasks.add(new Callable<Void>()
+				{
+					@Override
+					public Void call()
+					{
+						AlphaBetaSearch search = new AlphaBetaSearch();
+						search.setMaxDepth(depth);
+						int[] pits = new int[MancalaModel.TOTAL_PITS];
+						for (int i = first; i < results.length; i += step)
+						{
+							long[] position = positions.get(i);
+							PackedBoard.unpack(position[0], position[1], pits);
+							search.getTranspositionTable().clear(); //Keeps the book the same for any amount of threads
+							int move = search.findBestMove(pits, PackedBoard.getTurn(position[0]));
+							results[i] = toEntry(move, search.getLastScore());
+						}
+						return null;
+					}
+				});
+			}
+			pool.invokeAll(tasks);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+
+		for (int i = 0; i < results.length; i++)
+		{
+			book.entries[book.find(positions.get(i)[0], positions.get(i)[1])] = results[i];
+		}
+
+		return book;
+	}
+
+	/**
+	 * Builds a book for the starting positions the user interface offers and saves it.
+	 * @param args the file to write, and optionally the amount of moves in the book, the search depth and the amount of threads
+	 * @throws IOException if the file can not be written
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		File file = new File((args.length > 0) ? args[0] : DEFAULT_FILE);
+		int plies = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_PLIES;
+		int depth = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_DEPTH;
+		int threads = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+		long start = System.nanoTime();
+		OpeningBook book = build(new int[] { 3, 4 }, plies, depth, threads);
+		System.out.printf("Searched %d positions to depth %d in %.1f s%n", book.getSize(), depth, (System.nanoTime() - start) / 1e9);
+		book.save(file);
+		System.out.println("Saved to " + file);
+	}
+
+	/**
+	 * Returns the slot of the given board, or -1 if it is not in the book.
+	 */
+	private int findBoard(int[] pits, int player)
+	{
+		if (player != MancalaModel.PLAYER_A && player != MancalaModel.PLAYER_B)
+		{
+			return -1;
+		}
+		for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+		{
+			if (pits[i] > PackedBoard.MAX_STONES_PER_PIT)
+			{
+				return -1;
+			}
+		}
+
+		return find(PackedBoard.packLow(pits, player), PackedBoard.packHigh(pits));
+	}
+
+	/**
+	 * Returns the slot of the given packed board, or -1 if it is not in the book.
+	 */
+	private int find(long low, long high)
+	{
+		int mask = lows.length - 1;
+		for (int slot = (int) PackedBoard.hash(low, high) & mask; lows[slot] != 0; slot = (slot + 1) & mask)
+		{
+			if (lows[slot] == low && highs[slot] == high)
+			{
+				return slot;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Adds the given packed board to the book, growing the table to keep it at most half full.
+	 */
+	private void put(long low, long high, int move, int score)
+	{
+		int slot = find(low, high);
+		if (slot >= 0)
+		{
+			entries[slot] = toEntry(move, score);
+			return;
+		}
+
+		if ((size + 1) * 2 > lows.length)
+		{
+			long[] oldLows = lows;
+			long[] oldHighs = highs;
+			short[] oldEntries = entries;
+			lows = new long[oldLows.length * 2];
+			highs = new long[oldLows.length * 2];
+			entries = new short[oldLows.length * 2];
+			size = 0;
+			for (int i = 0; i < oldLows.length; i++)
+			{
+				if (oldLows[i] != 0)
+				{
+					insert(oldLows[i], oldHighs[i], oldEntries[i]);
+				}
+			}
+		}
+
+		insert(low, high, toEntry(move, score));
+	}
+
+	/**
+	 * Stores the given packed board in the first free slot of its probe sequence.
+	 */
+	private void insert(long low, long high, short entry)
+	{
+		int mask = lows.length - 1;
+		int slot = (int) PackedBoard.hash(low, high) & mask;
+		while (lows[slot] != 0)
+		{
+			slot = (slot + 1) & mask;
+		}
+
+		lows[slot] = low;
+		highs[slot] = high;
+		entries[slot] = entry;
+		size++;
+	}
+
+	/**
+	 * Returns the entry holding the given move and score, the score clamped to a byte.
+	 */
+	private static short toEntry(int move, int score)
+	{
+		return (short) ((Math.max(-128, Math.min(127, score)) << 8) | (move & 0xFF));
+	}
+}
@@ -0,0 +1,285 @@
+/**
+ * The PackedBoard class describes a compact representation of a whole Mancala position
+ * as a pair of primitive longs, so that positions can be copied, stored and hashed without
+ * allocating an array per position.
+ * <br>
+ * Every pit takes one byte. The low word holds PIT_A01 through PIT_A_MANCALA in bytes 0 to 6 and
+ * the player to move in the bits above them, the high word holds PIT_B01 through PIT_B_MANCALA in bytes 0 to 6.
+ * Because of this a single pit can hold at most MAX_STONES_PER_PIT stones, so boards with more than that many
+ * stones in total can not be packed. Positions are stored by callers as two consecutive entries of a long array.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public final class PackedBoard
+{
+	/**
+	 * Maximum amount of stones a single pit can hold in a packed board.
+	 */
+	public static final int MAX_STONES_PER_PIT = 255;
+	/**
+	 * Amount of longs used by one packed board.
+	 */
+	public static final int WORDS = 2;
+	private static final int BITS_PER_PIT = 8;
+	private static final int PITS_PER_WORD = 7;
+	private static final long PIT_MASK = 0xFFL;
+	private static final int TURN_SHIFT = BITS_PER_PIT * PITS_PER_WORD;
+	private static final long TURN_MASK = 0x3L << TURN_SHIFT;
+	private static final long SIDE_MASK = 0xFFFFFFFFFFFFL; //The six normal pits of a word
+	private static final int RING = MancalaModel.TOTAL_PITS - 1; //Amount of pits a player sows into
+	private static final long[] LAP_LOW = new long[2]; //One stone in every pit a player sows into, low word
+	private static final long[] LAP_HIGH = new long[2]; //One stone in every pit a player sows into, high word
+	private static final long[][][] SPAN_LOW = new long[2][MancalaModel.TOTAL_PITS][RING + 1]; //One stone in each of the next n pits, low word
+	private static final long[][][] SPAN_HIGH = new long[2][MancalaModel.TOTAL_PITS][RING + 1]; //One stone in each of the next n pits, high word
+	private static final int[][][] LAST_PIT = new int[2][MancalaModel.TOTAL_PITS][RING + 1]; //The pit n sowing steps after a pit
+
+	static
+	{
+		for (int player = MancalaModel.PLAYER_A; player <= MancalaModel.PLAYER_B; player++)
+		{
+			for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+			{
+				long low = 0;
+				long high = 0;
+				int current = pit;
+				for (int n = 1; n <= RING; n++)
+				{
+					current = MancalaRules.getNextPit(current, player);
+					if (current < PITS_PER_WORD)
+					{
+						low += 1L << shift(current);
+					}
+					else
+					{
+						high += 1L << shift(current);
+					}
+					SPAN_LOW[player][pit][n] = low;
+					SPAN_HIGH[player][pit][n] = high;
+					LAST_PIT[player][pit][n] = current;
+				}
+			}
+			LAP_LOW[player] = SPAN_LOW[player][0][RING];
+			LAP_HIGH[player] = SPAN_HIGH[player][0][RING];
+		}
+	}
+
+	private PackedBoard()
+	{
+	}
+
+	/**
+	 * Returns the low word of the packed board for the given pits and player to move.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param turn the player to move, or PLAYER_NONE
+	 * @return long the low word
+	 */
+	public static long packLow(int[] pits, int turn)
+	{
+		long low = 0;
+		for (int i = 0; i < PITS_PER_WORD; i++)
+		{
+			low |= checkStones(pits[i]) << shift(i);
+		}
+
+		return low | ((long) (turn + 1) << TURN_SHIFT);
+	}
+
+	/**
+	 * Returns the high word of the packed board for the given pits.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @return long the high word
+	 */
+	public static long packHigh(int[] pits)
+	{
+		long high = 0;
+		for (int i = PITS_PER_WORD; i < MancalaModel.TOTAL_PITS; i++)
+		{
+			high |= checkStones(pits[i]) << shift(i);
+		}
+
+		return high;
+	}
+
+	/**
+	 * Writes the pits of the packed board into the given array.
+	 * @param low the low word
+	 * @param high the high word
+	 * @param pits the array to write the pits into
+	 */
+	public static void unpack(long low, long high, int[] pits)
+	{
+		for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+		{
+			pits[i] = getStones(low, high, i);
+		}
+	}
+
+	/**
+	 * Returns the amount of stones in the given pit of the packed board.
+	 * @param low the low word
+	 * @param high the high word
+	 * @param pit the pit to check
+	 * @return int the amount of stones
+	 */
+	public static int getStones(long low, long high, int pit)
+	{
+		long word = (pit < PITS_PER_WORD) ? low : high;
+		return (int) ((word >>> shift(pit)) & PIT_MASK);
+	}
+
+	/**
+	 * Returns the player to move in the packed board, or PLAYER_NONE if the game is over.
+	 * @param low the low word
+	 * @return int the player to move
+	 */
+	public static int getTurn(long low)
+	{
+		return (int) ((low & TURN_MASK) >>> TURN_SHIFT) - 1;
+	}
+
+	/**
+	 * Returns true if the given pit is a move the player to move is allowed to make.
+	 * @param low the low word
+	 * @param high the high word
+	 * @param pit the selected pit
+	 * @return boolean true if the move is valid
+	 */
+	public static boolean isValidMove(long low, long high, int pit)
+	{
+		int turn = getTurn(low);
+		return turn != MancalaModel.PLAYER_NONE
+				&& MancalaRules.getOwnerOfPit(pit) == turn
+				&& !MancalaRules.isMancalaPit(pit)
+				&& getStones(low, high, pit) > 0;
+	}
+
+	/**
+	 * Returns a well mixed 64 bit hash of the packed board.
+	 * @param low the low word
+	 * @param high the high word
+	 * @return long the hash
+	 */
+	public static long hash(long low, long high)
+	{
+		long h = low * 0x9E3779B97F4A7C15L ^ high;
+		h = (h ^ (h >>> 32)) * 0xD6E8FEB86659FD93L;
+		return h ^ (h >>> 32);
+	}
+
+	/**
+	 * Applies the move for the given pit to the packed board stored at boards[from] and boards[from + 1],
+	 * and stores the resulting board, including the next player to move, at boards[to] and boards[to + 1].
+	 * The source and destination may be the same. Sowing is done a whole lap at a time, so the cost does
+	 * not depend on the amount of stones in the pit.
+	 * @param boards the array holding the packed boards
+	 * @param from the index of the low word of the board to move from
+	 * @param to the index of the low word to store the resulting board at
+	 * @param pit the selected pit, which must be a valid move
+	 * @return int the MancalaRules result flags of the move
+	 */
+	public static int applyMove(long[] boards, int from, int to, int pit)
+	{
+		long low = boards[from];
+		long high = boards[from + 1];
+		int player = MancalaRules.getOwnerOfPit(pit);
+		int mancala = MancalaRules.getMancalaForPlayer(player);
+		int result = 0;
+
+		//Pick up the pieces
+		int pieces = getStones(low, high, pit);
+		if (pit < PITS_PER_WORD)
+		{
+			low &= ~(PIT_MASK << shift(pit));
+		}
+		else
+		{
+			high &= ~(PIT_MASK << shift(pit));
+		}
+
+		//Sow whole laps in one addition, then the remainder
+		int laps = pieces / RING;
+		int rest = pieces % RING;
+		low += laps * LAP_LOW[player] + SPAN_LOW[player][pit][rest];
+		high += laps * LAP_HIGH[player] + SPAN_HIGH[player][pit][rest];
+		int lastPit = LAST_PIT[player][pit][(rest == 0) ? RING : rest];
+
+		//Evaluate where the last piece landed
+		if (lastPit == mancala)
+		{
+			result |= MancalaRules.MOVE_FREE_TURN;
+		}
+		else if (MancalaRules.getOwnerOfPit(lastPit) == player && getStones(low, high, lastPit) == 1)
+		{
+			result |= MancalaRules.MOVE_CAPTURE;
+			int oppositePit = MancalaRules.getOppositePit(lastPit);
+			long captured = getStones(low, high, oppositePit) + 1;
+			if (player == MancalaModel.PLAYER_A)
+			{
+				low &= ~(PIT_MASK << shift(lastPit));
+				high &= ~(PIT_MASK << shift(oppositePit));
+				low += captured << shift(mancala);
+			}
+			else
+			{
+				high &= ~(PIT_MASK << shift(lastPit));
+				low &= ~(PIT_MASK << shift(oppositePit));
+				high += captured << shift(mancala);
+			}
+		}
+
+		//Evaluate if the game is over, and sweep the remaining side if so
+		if ((low & SIDE_MASK) == 0)
+		{
+			high = sweep(high);
+			result |= MancalaRules.MOVE_GAME_OVER;
+		}
+		else if ((high & SIDE_MASK) == 0)
+		{
+			low = sweep(low);
+			result |= MancalaRules.MOVE_GAME_OVER;
+		}
+
+		int turn = MancalaRules.getNextTurn(player, result);
+		boards[to] = (low & ~TURN_MASK) | ((long) (turn + 1) << TURN_SHIFT);
+		boards[to + 1] = high;
+
+		return result;
+	}
+
+	/**
+	 * Moves all of the stones of the normal pits of a word into the mancala of that word.
+	 */
+	private static long sweep(long word)
+	{
+		long sum = 0;
+		for (int i = 0; i < PITS_PER_WORD - 1; i++)
+		{
+			sum += (word >>> (i * BITS_PER_PIT)) & PIT_MASK;
+		}
+
+		return (word & ~SIDE_MASK) + (sum << ((PITS_PER_WORD - 1) * BITS_PER_PIT));
+	}
+
+	/**
+	 * Returns the bit offset of the given pit within its word.
+	 */
+	private static int shift(int pit)
+	{
+		return (pit % PITS_PER_WORD) * BITS_PER_PIT;
+	}
+
+	/**
+	 * Returns the stone amount as a long, if it fits in a packed pit.
+	 */
+	private static long checkStones(int stones)
+	{
+		if (stones < 0 || stones > MAX_STONES_PER_PIT)
+		{
+			throw new IllegalArgumentException("Pit stone amount out of range for a packed board: " + stones);
+		}
+
+		return stones;
+	}
+}
@@ -0,0 +1,432 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The ParallelSearch is a computer player that splits a negamax alpha beta search over the threads of a
+ * ForkJoinPool using Young Brothers Wait. At every node close enough to the root, the first move is searched
+ * on its own to establish a bound, then the remaining moves are forked as tasks that search with that bound.
+ * Nodes deeper than the split depth are searched sequentially by an AlphaBetaSearch owned by the worker thread,
+ * and every worker shares one lockless TranspositionTable.
+ * <br>
+ * Running the class prints how the search speeds up from one thread up to every available processor.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class ParallelSearch implements MancalaEngine
+{
+	/**
+	 * The default amount of plies from the root that are split into parallel tasks.
+	 */
+	public static final int DEFAULT_SPLIT_DEPTH = 3;
+	/**
+	 * The default base 2 logarithm of the amount of entries of the shared transposition table.
+	 */
+	public static final int DEFAULT_TABLE_BITS = 22;
+	private final ForkJoinPool pool; //Pool the search is split over
+	private final TranspositionTable table; //Table shared by every worker, or null to search without one
+	private final ThreadLocal<AlphaBetaSearch> searches; //Sequential search owned by every worker
+	private final LongAdder nodes; //Amount of nodes searched by the current search
+	private int maxDepth; //Depth in plies to search to
+	private int splitDepth; //Amount of plies from the root that are split into tasks
+	private int lastScore; //Score of the best move of the last search
+
+	/**
+	 * Creates a search that runs on the given amount of threads with a shared transposition table of the default size.
+	 * @param threads the amount of threads
+	 */
+	public ParallelSearch(int threads)
+	{
+		this(threads, new TranspositionTable(DEFAULT_TABLE_BITS, TranspositionTable.REPLACE_TWO_TIER));
+	}
+
+	/**
+	 * Creates a search that runs on the given amount of threads and shares the given transposition table.
+	 * @param threads the amount of threads
+	 * @param table the shared table, or null to search without one
+	 */
+	public ParallelSearch(int threads, final TranspositionTable table)
+	{
+		pool = new ForkJoinPool(Math.max(1, threads));
+		this.table = table;
+		searches = new ThreadLocal<AlphaBetaSearch>()
+		{
+			@Override
+			protected AlphaBetaSearch initialValue()
+			{
+				return new AlphaBetaSearch(table);
+			}
+		};
+		nodes = new LongAdder();
+		maxDepth = AlphaBetaSearch.DEFAULT_DEPTH;
+		splitDepth = DEFAULT_SPLIT_DEPTH;
+	}
+
+	/**
+	 * Sets the depth, in plies, that searches are made to.
+	 * @param depth the depth, between 1 and AlphaBetaSearch.MAX_DEPTH
+	 */
+	public void setMaxDepth(int depth)
+	{
+		maxDepth = Math.max(1, Math.min(depth, AlphaBetaSearch.MAX_DEPTH));
+	}
+
+	/**
+	 * Returns the depth, in plies, that searches are made to.
+	 * @return int the depth
+	 */
+	public int getMaxDepth()
+	{
+		return maxDepth;
+	}
+
+	/**
+	 * Sets the amount of plies from the root that are split into parallel tasks.
+	 * Deeper splits make more, smaller tasks.
+	 * @param depth the split depth, at least 1
+	 */
+	public void setSplitDepth(int depth)
+	{
+		splitDepth = Math.max(1, depth);
+	}
+
+	/**
+	 * Returns the amount of plies from the root that are split into parallel tasks.
+	 * @return int the split depth
+	 */
+	public int getSplitDepth()
+	{
+		return splitDepth;
+	}
+
+	/**
+	 * Returns the amount of threads the search runs on.
+	 * @return int the amount of threads
+	 */
+	public int getThreads()
+	{
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Returns the transposition table shared by the workers.
+	 * @return TranspositionTable the table, or null if there is none
+	 */
+	public TranspositionTable getTranspositionTable()
+	{
+		return table;
+	}
+
+	/**
+	 * Returns the amount of nodes visited by the last search, over every thread.
+	 * @return long the amount of nodes
+	 */
+	public long getNodesSearched()
+	{
+		return nodes.sum();
+	}
+
+	/**
+	 * Returns the score of the best move found by the last search, from the
+	 * point of view of the player who was to move.
+	 * @return int the score
+	 */
+	public int getLastScore()
+	{
+		return lastScore;
+	}
+
+	/**
+	 * Returns the best move for the player whose turn it is in the given model.
+	 * @param model the model to find a move for
+	 * @return int the pit to select, or -1 if there is no move to make
+	 */
+	public int findBestMove(MancalaModel model)
+	{
+		int[] pits = new int[MancalaModel.TOTAL_PITS];
+		for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+		{
+			pits[i] = model.getStonesInPit(i);
+		}
+
+		return findBestMove(pits, model.getPlayerTurn());
+	}
+
+	/**
+	 * Returns the best move for the given player on the given board.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @return int the pit to select, or -1 if there is no move to make
+	 */
+	public int findBestMove(int[] pits, int player)
+	{
+		nodes.reset();
+		lastScore = 0;
+
+		if (player != MancalaModel.PLAYER_A && player != MancalaModel.PLAYER_B)
+		{
+			return -1;
+		}
+
+		if (table != null)
+		{
+			table.newSearch();
+		}
+
+		SplitTask root = new SplitTask(pits.clone(), player, maxDepth, -AlphaBetaSearch.INFINITY, AlphaBetaSearch.INFINITY, 0);
+		lastScore = pool.invoke(root);
+		return root.bestMove;
+	}
+
+	/**
+	 * Stops the threads of the search. The search can not be used afterwards.
+	 */
+	public void shutdown()
+	{
+		pool.shutdown();
+	}
+
+	/**
+	 * Searches the starting position at increasing thread counts and prints the speedup over one thread.
+	 * @param args optional depth, stones per pit, and maximum amount of threads
+	 */
+	public static void main(String[] args)
+	{
+		int depth = (args.length > 0) ? Integer.parseInt(args[0]) : 20;
+		int stones = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+		int maxThreads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+		int[] pits = new int[MancalaModel.TOTAL_PITS];
+		MancalaRules.setupBoard(pits, stones);
+
+		System.out.println("Depth " + depth + ", " + stones + " stones per pit, " + Runtime.getRuntime().availableProcessors() + " processors");
+		System.out.println("threads\tmove\tscore\tnodes\tms\tnodes/s\tspeedup");
+
+		double baseTime = 0;
+		for (int threads = 1; threads <= maxThreads; threads = (threads < maxThreads && threads * 2 > maxThreads) ? maxThreads : threads * 2)
+		{
+			ParallelSearch search = new ParallelSearch(threads);
+			search.setMaxDepth(depth);
+			search.findBestMove(pits, MancalaModel.PLAYER_A); //Warm up
+			search.getTranspositionTable().clear();
+
+			long start = System.nanoTime();
+			int move = search.findBestMove(pits, MancalaModel.PLAYER_A);
+			double millis = (System.nanoTime() - start) / 1e6;
+			search.shutdown();
+
+			if (threads == 1)
+			{
+				baseTime = millis;
+			}
+			System.out.printf("%d\t%d\t%d\t%d\t%.1f\t%.0f\t%.2f%n", threads, move, search.getLastScore(), search.getNodesSearched(),
+					millis, search.getNodesSearched() / (millis / 1000), baseTime / millis);
+
+			if (threads == maxThreads)
+			{
+				break;
+			}
+		}
+	}
+
+	/**
+	 * The SplitTask searches one node of the tree, splitting its moves into parallel tasks
+	 * if it is within the split depth, or searching it sequentially otherwise.
+	 */
+	private class SplitTask extends RecursiveTask<Integer>
+	{
+		private static final long serialVersionUID = 1L;
+		private final int[] pits; //Board of the node, owned by the task
+		private final int player; //Player to move
+		private final int depth; //Remaining depth in plies
+		private final int alpha; //Lower bound of the window
+		private final int beta; //Upper bound of the window
+		private final int ply; //Distance from the root
+		private int bestMove; //Best move found, set once computed
+
+		SplitTask(int[] pits, int player, int depth, int alpha, int beta, int ply)
+		{
+			this.pits = pits;
+			this.player = player;
+			this.depth = depth;
+			this.alpha = alpha;
+			this.beta = beta;
+			this.ply = ply;
+			bestMove = -1;
+		}
+
+		@Override
+		protected Integer compute()
+		{
+			if (depth <= 0)
+			{
+				return AlphaBetaSearch.evaluate(pits, player);
+			}
+
+			if (ply >= splitDepth)
+			{
+				AlphaBetaSearch search = searches.get();
+				int score = search.searchPosition(pits, player, depth, alpha, beta);
+				nodes.add(search.getNodesSearched());
+				return score;
+			}
+
+			long key = (table != null) ? Zobrist.hash(pits, player) : 0;
+			int[] moves = new int[AlphaBetaSearch.PITS_PER_SIDE];
+			int count = AlphaBetaSearch.orderMoves(pits, player, getTableMove(key), moves);
+
+			//The eldest brother is searched first, to establish a bound for the others
+			int bound = alpha;
+			int best = -AlphaBetaSearch.INFINITY;
+			int index = 0;
+			while (index < count)
+			{
+				int pit = moves[index++];
+				int[] child = pits.clone();
+				int next = MancalaRules.getNextTurn(player, MancalaRules.applyMove(child, pit));
+				nodes.increment();
+
+				int score;
+				if (next == MancalaModel.PLAYER_NONE)
+				{
+					score = AlphaBetaSearch.evaluate(child, player);
+				}
+				else
+				{
+					score = signFor(next) * createChild(child, next, bound).compute();
+				}
+
+				if (score > best)
+				{
+					best = score;
+					bestMove = pit;
+					bound = Math.max(bound, score);
+				}
+
+				if (next != MancalaModel.PLAYER_NONE || bound >= beta)
+				{
+					break;
+				}
+			}
+
+			if (bound >= beta || index >= count)
+			{
+				store(key, best);
+				return best;
+			}
+
+			//The younger brothers are searched in parallel with the bound of the eldest
+			List<SplitTask> tasks = new ArrayList<SplitTask>(count - index);
+			int[] taskMoves = new int[count - index];
+			boolean[] negated = new boolean[count - index];
+			for (int i = index; i < count; i++)
+			{
+				int pit = moves[i];
+				int[] child = pits.clone();
+				int next = MancalaRules.getNextTurn(player, MancalaRules.applyMove(child, pit));
+				nodes.increment();
+
+				if (next == MancalaModel.PLAYER_NONE)
+				{
+					int score = AlphaBetaSearch.evaluate(child, player);
+					if (score > best)
+					{
+						best = score;
+						bestMove = pit;
+					}
+				}
+				else
+				{
+					negated[tasks.size()] = next != player;
+					taskMoves[tasks.size()] = pit;
+					tasks.add(createChild(child, next, bound));
+				}
+			}
+
+			invokeAll(tasks);
+			for (int i = 0; i < tasks.size(); i++)
+			{
+				int score = tasks.get(i).join();
+				if (negated[i])
+				{
+					score = -score;
+				}
+
+				if (score > best)
+				{
+					best = score;
+					bestMove = taskMoves[i];
+				}
+			}
+
+			store(key, best);
+			return best;
+		}
+
+		/**
+		 * Stores the given result of this node in the transposition table under the given key, bounded the same way as
+		 * AlphaBetaSearch bounds it, so later iterations and the other tasks can use the work of every brother.
+		 */
+		private void store(long key, int best)
+		{
+			if (table == null || bestMove < 0)
+			{
+				return;
+			}
+
+			int bound;
+			if (best <= alpha)
+			{
+				bound = TranspositionTable.BOUND_UPPER;
+			}
+			else if (best >= beta)
+			{
+				bound = TranspositionTable.BOUND_LOWER;
+			}
+			else
+			{
+				bound = TranspositionTable.BOUND_EXACT;
+			}
+			table.store(key, depth, bound, best, bestMove);
+		}
+
+		/**
+		 * Returns the task for the child board with the given player to move, searched with the given bound.
+		 */
+		private SplitTask createChild(int[] child, int next, int bound)
+		{
+			if (next == player)
+			{
+				return new SplitTask(child, next, depth - 1, bound, beta, ply + 1);
+			}
+
+			return new SplitTask(child, next, depth - 1, -beta, -bound, ply + 1);
+		}
+
+		/**
+		 * Returns 1 if the score of a child with the given player to move is from this node's point of view, or -1 otherwise.
+		 */
+		private int signFor(int next)
+		{
+			return (next == player) ? 1 : -1;
+		}
+
+		/**
+		 * Returns the best move stored in the transposition table for this node, which has the given key, or -1.
+		 */
+		private int getTableMove(long key)
+		{
+			if (table == null)
+			{
+				return -1;
+			}
+
+			long entry = table.probe(key);
+			return (entry == TranspositionTable.NO_ENTRY) ? -1 : TranspositionTable.getMove(entry);
+		}
+	}
+}
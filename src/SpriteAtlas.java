@@ -0,0 +1,140 @@
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+
+/**
+ * The SpriteAtlas keeps pre-rendered copies of one drawing of a board style, such as a stone or a pit highlight,
+ * for every size it is drawn at. The first time a size is drawn, the painter draws it into a translucent image,
+ * which is cut down to the pixels it covers, and from then on drawing that size is a single image copy instead of
+ * filling shapes. Drawings may reach past their size by up to the margin, such as for shadows or a glow.
+ * <br>
+ * An atlas is meant to be used from a single thread, such as the event dispatch thread.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class SpriteAtlas
+{
+	/**
+	 * The Painter draws the drawing of an atlas relative to 0,0, at the given size.
+	 */
+	public interface Painter
+	{
+		/**
+		 * Draws the drawing at the given size, relative to 0,0.
+		 * @param g2 Graphics context
+		 * @param w width
+		 * @param h height
+		 */
+		void paint(Graphics2D g2, int w, int h);
+	}
+
+	private final Painter painter; //Painter that draws the sprites
+	private final int margin; //Most the drawing reaches past its size on any side
+	private final HashMap<Long, Sprite> sprites; //Sprite for every size drawn so far, keyed by width and height
+	private Sprite last; //Sprite drawn last, checked before the map since the same size is usually drawn again
+
+	/**
+	 * Creates an atlas for the given painter.
+	 * @param painter the painter that draws the sprites
+	 * @param margin the most the drawing reaches past its size on any side
+	 */
+	public SpriteAtlas(Painter painter, int margin)
+	{
+		this.painter = painter;
+		this.margin = margin;
+		sprites = new HashMap<Long, Sprite>();
+		last = null;
+	}
+
+	/**
+	 * Draws the sprite of the given size at the given position, rendering it first if that size was not drawn yet.
+	 * @param g Graphics context
+	 * @param x the x position to draw at, as the painter's 0
+	 * @param y the y position to draw at, as the painter's 0
+	 * @param w width
+	 * @param h height
+	 */
+	public void draw(Graphics g, int x, int y, int w, int h)
+	{
+		Sprite sprite = last;
+		if (sprite == null || sprite.width != w || sprite.height != h)
+		{
+			Long key = ((long) w << 32) | (h & 0xFFFFFFFFL);
+			sprite = sprites.get(key);
+			if (sprite == null)
+			{
+				sprite = new Sprite(w, h);
+				sprites.put(key, sprite);
+			}
+			last = sprite;
+		}
+
+		if (sprite.image != null)
+		{
+			g.drawImage(sprite.image, x + sprite.offsetX, y + sprite.offsetY, null);
+		}
+	}
+
+	/**
+	 * A Sprite is the drawing rendered at one size, cut down to the pixels it covers.
+	 * <br>Date Created: 10/18/2026
+	 * <br>Date Updated: 10/18/2026
+	 * @author Maxim Tiourin
+	 * @version 1.00
+	 */
+	private final class Sprite
+	{
+		private final int width; //Width the drawing was painted at
+		private final int height; //Height the drawing was painted at
+		private final BufferedImage image; //Pixels the drawing covers, or null if it covers nothing
+		private final int offsetX; //Left of the image relative to the painter's 0
+		private final int offsetY; //Top of the image relative to the painter's 0
+
+		Sprite(int width, int height)
+		{
+			this.width = width;
+			this.height = height;
+
+			BufferedImage canvas = new BufferedImage(width + (margin * 2), height + (margin * 2), BufferedImage.TYPE_INT_ARGB_PRE);
+			Graphics2D g2 = canvas.createGraphics();
+			g2.translate(margin, margin);
+			painter.paint(g2, width, height);
+			g2.dispose();
+
+			//Cut the drawing down to the pixels it covers
+			int left = Integer.MAX_VALUE;
+			int top = Integer.MAX_VALUE;
+			int right = -1;
+			int bottom = -1;
+			for (int y = 0; y < canvas.getHeight(); y++)
+			{
+				for (int x = 0; x < canvas.getWidth(); x++)
+				{
+					if ((canvas.getRGB(x, y) >>> 24) != 0)
+					{
+						left = Math.min(left, x);
+						top = Math.min(top, y);
+						right = Math.max(right, x);
+						bottom = Math.max(bottom, y);
+					}
+				}
+			}
+
+			if (right >= 0)
+			{
+				image = canvas.getSubimage(left, top, right - left + 1, bottom - top + 1);
+				offsetX = left - margin;
+				offsetY = top - margin;
+			}
+			else
+			{
+				image = null;
+				offsetX = 0;
+				offsetY = 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,80 @@
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The StoneLayoutCache remembers the layouts of one stone layout for one size of pit and stone, so the stones of
+ * a pit can be drawn without building the layout again on every paint. The layout for an amount of stones is worked
+ * out the first time it is asked for, and kept as a packed array of coordinates, x and y of the first stone followed
+ * by x and y of the next, which is never changed afterwards.
+ * <br>
+ * A cache is meant to be used from a single thread, such as the event dispatch thread.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class StoneLayoutCache
+{
+	private static final int INITIAL_CAPACITY = 49; //Amounts of stones there is room for at first, up to every stone of a standard game
+	private static final int[] NO_STONES = new int[0]; //Coordinates of an empty pit
+	private final StoneLayout layout; //Layout the coordinates are worked out with
+	private final int pitWidth; //Width of the pit the layouts are for
+	private final int pitHeight; //Height of the pit the layouts are for
+	private final int stoneWidth; //Width of the stones the layouts are for
+	private final int stoneHeight; //Height of the stones the layouts are for
+	private int[][] coordinates; //Packed coordinates for every amount of stones, or null until asked for
+
+	/**
+	 * Creates a cache for the given layout, pit size and stone size.
+	 * @param layout the layout to work out the coordinates with
+	 * @param pitWidth width of the pit
+	 * @param pitHeight height of the pit
+	 * @param stoneWidth width of a stone
+	 * @param stoneHeight height of a stone
+	 */
+	public StoneLayoutCache(StoneLayout layout, int pitWidth, int pitHeight, int stoneWidth, int stoneHeight)
+	{
+		this.layout = layout;
+		this.pitWidth = pitWidth;
+		this.pitHeight = pitHeight;
+		this.stoneWidth = stoneWidth;
+		this.stoneHeight = stoneHeight;
+		coordinates = new int[INITIAL_CAPACITY][];
+	}
+
+	/**
+	 * Returns the packed coordinates of the stones for the given amount of stones, where the stone with
+	 * index i is drawn at x = coordinates[2 * i] and y = coordinates[2 * i + 1]. The returned array is
+	 * shared, and must not be changed.
+	 * @param stoneAmount the amount of stones
+	 * @return int[] the packed coordinates
+	 */
+	public int[] getCoordinates(int stoneAmount)
+	{
+		if (stoneAmount <= 0)
+		{
+			return NO_STONES;
+		}
+
+		if (stoneAmount >= coordinates.length)
+		{
+			coordinates = Arrays.copyOf(coordinates, Math.max(stoneAmount + 1, coordinates.length * 2));
+		}
+
+		int[] packed = coordinates[stoneAmount];
+		if (packed == null)
+		{
+			List<Point> points = layout.getLayout(stoneAmount, pitWidth, pitHeight, stoneWidth, stoneHeight);
+			packed = new int[points.size() * 2];
+			for (int i = 0; i < points.size(); i++)
+			{
+				packed[2 * i] = points.get(i).x;
+				packed[(2 * i) + 1] = points.get(i).y;
+			}
+			coordinates[stoneAmount] = packed;
+		}
+
+		return packed;
+	}
+}
@@ -0,0 +1,459 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The Tournament plays engines against each other without a user interface, to compare engines or rule changes over
+ * many games. Games are played straight on the MancalaRules with no animation, in pairs that start from the same random
+ * opening with the engines swapping sides, and the pairs are spread over a thread pool. Every game gets new engines,
+ * made by an EngineFactory, so engines are never shared between threads, and nothing an engine learned in one game,
+ * such as its transposition table or search tree, carries over into the next. The engines are shut down after their game.
+ * <br>
+ * The openings are drawn from a seed, and every engine is given a seed worked out from it and the number of its game,
+ * so the same seed always plays the same games, whatever the amount of threads or the order they run in.
+ * Results are written as one CSV line per game, in the order games finish, by the thread that runs the tournament.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class Tournament
+{
+	/**
+	 * The header line of the results file.
+	 */
+	public static final String CSV_HEADER = "game,stones,opening,playerA,playerB,stonesA,stonesB,winner,moves,millis";
+	private final EngineFactory first; //Makes the first engine
+	private final EngineFactory second; //Makes the second engine
+	private int stones; //Stones per pit at the start
+	private int openingMoves; //Random moves made before the engines take over
+	private long seed; //Seed of the random openings
+	private int threads; //Amount of worker threads
+	private int[] wins; //Games won by each engine in the last tournament
+	private int draws; //Games drawn in the last tournament
+
+	/**
+	 * Creates a tournament between the engines made by the given factories.
+	 * @param first the factory of the first engine
+	 * @param second the factory of the second engine
+	 */
+	public Tournament(EngineFactory first, EngineFactory second)
+	{
+		this.first = first;
+		this.second = second;
+		stones = 4;
+		openingMoves = 4;
+		seed = 0;
+		threads = Runtime.getRuntime().availableProcessors();
+		wins = new int[2];
+	}
+
+	/**
+	 * Sets the stones per pit at the start of every game.
+	 * @param stones the stones per pit
+	 */
+	public void setStones(int stones)
+	{
+		this.stones = Math.max(1, stones);
+	}
+
+	/**
+	 * Sets the amount of random moves made at the start of every pair of games.
+	 * @param moves the amount of random moves
+	 */
+	public void setOpeningMoves(int moves)
+	{
+		openingMoves = Math.max(0, moves);
+	}
+
+	/**
+	 * Sets the seed the random openings are drawn from.
+	 * @param seed the seed
+	 */
+	public void setSeed(long seed)
+	{
+		this.seed = seed;
+	}
+
+	/**
+	 * Sets the amount of threads games are played on.
+	 * @param threads the amount of threads
+	 */
+	public void setThreads(int threads)
+	{
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Returns the amount of games the given engine won in the last tournament.
+	 * @param engine 0 for the first engine, 1 for the second
+	 * @return int the amount of wins
+	 */
+	public int getWins(int engine)
+	{
+		return wins[engine];
+	}
+
+	/**
+	 * Returns the amount of games drawn in the last tournament.
+	 * @return int the amount of draws
+	 */
+	public int getDraws()
+	{
+		return draws;
+	}
+
+	/**
+	 * Plays the given amount of pairs of games and writes a CSV line for every game to the given writer.
+	 * @param pairs the amount of pairs of games, each engine playing first once per pair
+	 * @param out the writer for the results, or null to not write results
+	 * @throws IOException if the results can not be written
+	 */
+	public void play(int pairs, Writer out) throws IOException
+	{
+		wins = new int[2];
+		draws = 0;
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try
+		{
+			CompletionService<GameResult[]> games = new ExecutorCompletionService<GameResult[]>(pool);
+			for (int i = 0; i < pairs; i++)
+			{
+				final int pair = i;
+				games.submit(new Callable<GameResult[]>()
+				{
+					@Override
+					public GameResult[] call()
+					{
+						return playPair(pair);
+					}
+				});
+			}
+
+			if (out != null)
+			{
+				out.write(CSV_HEADER);
+				out.write('\n');
+			}
+			for (int i = 0; i < pairs; i++)
+			{
+				GameResult[] results = games.take().get();
+				for (GameResult result : results)
+				{
+					if (result.winner == MancalaModel.PLAYER_NONE)
+					{
+						draws++;
+					}
+					else
+					{
+						wins[(result.winner == MancalaModel.PLAYER_A) ? result.engineA : 1 - result.engineA]++;
+					}
+
+					if (out != null)
+					{
+						out.write(result.toCsv());
+						out.write('\n');
+					}
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException("A tournament game failed", e.getCause());
+		}
+		finally
+		{
+			pool.shutdownNow();
+			if (out != null)
+			{
+				out.flush();
+			}
+		}
+	}
+
+	/**
+	 * Plays a tournament and prints the score and games per second.
+	 * @param args the first engine, the second engine, and optionally the amount of pairs of games, the results file,
+	 * the amount of threads, the seed and the stones per pit. Engines are random, ab:depth, id:millis or mcts:playouts.
+	 * @throws IOException if the results can not be written
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 2)
+		{
+			System.out.println("Usage: java Tournament <engine> <engine> [pairs] [results.csv] [threads] [seed] [stones]");
+			System.out.println("Engines: random, ab:<depth>, id:<millis>, mcts:<playouts>");
+			return;
+		}
+
+		Tournament tournament = new Tournament(createFactory(args[0]), createFactory(args[1]));
+		int pairs = (args.length > 2) ? Integer.parseInt(args[2]) : 1000;
+		File file = (args.length > 3) ? new File(args[3]) : null;
+		if (args.length > 4)
+		{
+			tournament.setThreads(Integer.parseInt(args[4]));
+		}
+		if (args.length > 5)
+		{
+			tournament.setSeed(Long.parseLong(args[5]));
+		}
+		if (args.length > 6)
+		{
+			tournament.setStones(Integer.parseInt(args[6]));
+		}
+
+		Writer out = (file != null) ? new BufferedWriter(new FileWriter(file)) : null;
+		long start = System.nanoTime();
+		try
+		{
+			tournament.play(pairs, out);
+		}
+		finally
+		{
+			if (out != null)
+			{
+				out.close();
+			}
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("%s %d - %d %s, %d draws%n", args[0], tournament.getWins(0), tournament.getWins(1), args[1], tournament.getDraws());
+		System.out.printf("%d games in %.2f s on %d threads, %.0f games/s%n", pairs * 2, seconds, tournament.threads, pairs * 2 / seconds);
+	}
+
+	/**
+	 * Returns the factory for the given engine description: random, ab:depth, id:millis or mcts:playouts.
+	 * @param spec the engine description
+	 * @return EngineFactory the factory
+	 */
+	public static EngineFactory createFactory(String spec)
+	{
+		String[] parts = spec.split(":");
+		final String type = parts[0];
+		final int amount = (parts.length > 1) ? Integer.parseInt(parts[1]) : 0;
+
+		if (!type.equals("random") && !type.equals("ab") && !type.equals("id") && !type.equals("mcts"))
+		{
+			throw new IllegalArgumentException("Unknown engine: " + spec);
+		}
+
+		return new EngineFactory()
+		{
+			@Override
+			public MancalaEngine createEngine(long seed)
+			{
+				if (type.equals("ab"))
+				{
+					AlphaBetaSearch search = new AlphaBetaSearch();
+					search.setMaxDepth((amount > 0) ? amount : AlphaBetaSearch.DEFAULT_DEPTH);
+					return search;
+				}
+				else if (type.equals("id"))
+				{
+					IterativeDeepeningSearch search = new IterativeDeepeningSearch();
+					search.setTimeLimit((amount > 0) ? amount : IterativeDeepeningSearch.DEFAULT_TIME_LIMIT);
+					return search;
+				}
+				else if (type.equals("mcts"))
+				{
+					MonteCarloSearch search = new MonteCarloSearch(1);
+					search.setPlayouts((amount > 0) ? amount : MonteCarloSearch.DEFAULT_PLAYOUTS);
+					return search;
+				}
+
+				return new RandomEngine(seed);
+			}
+		};
+	}
+
+	/**
+	 * Plays the given pair of games from the same random opening, each engine playing first once.
+	 */
+	private GameResult[] playPair(int pair)
+	{
+		Random random = new Random(seed * 31 + pair);
+		int[] opening = new int[MancalaModel.TOTAL_PITS];
+		MancalaRules.setupBoard(opening, stones);
+
+		//Make random moves, stopping early if one would end the game
+		StringBuilder moves = new StringBuilder();
+		int turn = MancalaModel.PLAYER_A;
+		for (int i = 0; i < openingMoves; i++)
+		{
+			int first = MancalaRules.getFirstPitForPlayer(turn);
+			int pit;
+			do
+			{
+				pit = first + random.nextInt(AlphaBetaSearch.PITS_PER_SIDE);
+			}
+			while (opening[pit] == 0);
+
+			int[] next = opening.clone();
+			int nextTurn = MancalaRules.getNextTurn(turn, MancalaRules.applyMove(next, pit));
+			if (nextTurn == MancalaModel.PLAYER_NONE)
+			{
+				break;
+			}
+			opening = next;
+			turn = nextTurn;
+			moves.append((moves.length() == 0) ? "" : " ").append(pit);
+		}
+
+		GameResult[] results = new GameResult[2];
+		for (int engineA = 0; engineA < 2; engineA++)
+		{
+			int game = pair * 2 + engineA;
+			MancalaEngine[] engines = { first.createEngine(getEngineSeed(game, 0)), second.createEngine(getEngineSeed(game, 1)) };
+			GameResult result;
+			try
+			{
+				result = playGame(opening.clone(), turn, engines[engineA], engines[1 - engineA]);
+			}
+			finally
+			{
+				engines[0].shutdown();
+				engines[1].shutdown();
+			}
+			result.game = game;
+			result.opening = moves.toString();
+			result.engineA = engineA;
+			results[engineA] = result;
+		}
+
+		return results;
+	}
+
+	/**
+	 * Returns the seed of the given engine in the given game, which only depends on the seed of the tournament.
+	 */
+	private long getEngineSeed(int game, int engine)
+	{
+		return ((seed * 31 + game) * 2 + engine) * 0x9E3779B97F4A7C15L;
+	}
+
+	/**
+	 * Plays the game on the given board to the end with the given engines.
+	 */
+	private GameResult playGame(int[] pits, int turn, MancalaEngine playerA, MancalaEngine playerB)
+	{
+		long start = System.nanoTime();
+		int moves = 0;
+		while (turn != MancalaModel.PLAYER_NONE)
+		{
+			int pit = ((turn == MancalaModel.PLAYER_A) ? playerA : playerB).findBestMove(pits, turn);
+			if (!MancalaRules.isValidMove(pits, turn, pit))
+			{
+				throw new IllegalStateException("Engine made an invalid move: " + pit);
+			}
+
+			turn = MancalaRules.getNextTurn(turn, MancalaRules.applyMove(pits, pit));
+			moves++;
+		}
+
+		GameResult result = new GameResult();
+		result.stonesA = pits[MancalaModel.PIT_A_MANCALA];
+		result.stonesB = pits[MancalaModel.PIT_B_MANCALA];
+		result.winner = MancalaRules.getWinner(pits);
+		result.moves = moves;
+		result.millis = (System.nanoTime() - start) / 1000000L;
+		return result;
+	}
+
+	/**
+	 * The EngineFactory interface describes a way of making new engines, so that every game of a tournament gets its own.
+	 */
+	public interface EngineFactory
+	{
+		/**
+		 * Returns a new engine.
+		 * @param seed the seed for any random choices the engine makes, so the game can be played again
+		 * @return MancalaEngine the engine
+		 */
+		MancalaEngine createEngine(long seed);
+	}
+
+	/**
+	 * The GameResult holds the outcome of one tournament game.
+	 */
+	private class GameResult
+	{
+		private int game; //Number of the game
+		private String opening; //Random moves the game started with
+		private int engineA; //Engine that played player A
+		private int stonesA; //Stones in player A's mancala at the end
+		private int stonesB; //Stones in player B's mancala at the end
+		private int winner; //Player who won, or PLAYER_NONE for a draw
+		private int moves; //Moves made by the engines
+		private long millis; //Time the game took
+
+		/**
+		 * Returns the result as a line of the results file.
+		 */
+		String toCsv()
+		{
+			String winnerName = (winner == MancalaModel.PLAYER_A) ? "A" : (winner == MancalaModel.PLAYER_B) ? "B" : "draw";
+			return game + "," + stones + "," + opening + "," + (engineA + 1) + "," + (2 - engineA) + ","
+					+ stonesA + "," + stonesB + "," + winnerName + "," + moves + "," + millis;
+		}
+	}
+
+	/**
+	 * The RandomEngine is an engine that makes uniformly random valid moves.
+	 */
+	private static class RandomEngine implements MancalaEngine
+	{
+		private final Random random; //Random generator of the moves
+
+		RandomEngine(long seed)
+		{
+			random = new Random(seed);
+		}
+
+		public int findBestMove(MancalaModel model)
+		{
+			int[] pits = new int[MancalaModel.TOTAL_PITS];
+			for (int i = 0; i < MancalaModel.TOTAL_PITS; i++)
+			{
+				pits[i] = model.getStonesInPit(i);
+			}
+
+			return findBestMove(pits, model.getPlayerTurn());
+		}
+
+		public int findBestMove(int[] pits, int player)
+		{
+			if (player == MancalaModel.PLAYER_NONE || MancalaRules.sideForPlayerIsEmpty(pits, player))
+			{
+				return -1;
+			}
+
+			int first = MancalaRules.getFirstPitForPlayer(player);
+			int pit;
+			do
+			{
+				pit = first + random.nextInt(AlphaBetaSearch.PITS_PER_SIDE);
+			}
+			while (pits[pit] == 0);
+
+			return pit;
+		}
+
+		public void shutdown()
+		{
+		}
+	}
+}
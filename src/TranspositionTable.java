@@ -0,0 +1,271 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The TranspositionTable is a fixed size hash table of searched positions, keyed by the Zobrist
+ * hash of the position. It is stored as two primitive arrays, one holding the full key of every entry
+ * and one holding the entry itself packed into a long, so storing and probing never allocates.
+ * <br>
+ * An entry holds the score of the position, the depth it was searched to, whether the score is exact,
+ * a lower bound or an upper bound, the best move found, and the search generation it was stored in.
+ * Which entry is overwritten when two positions map to the same slot is decided by the replacement policy.
+ * <br>
+ * The table can be shared by searches running on several threads without locking. The key of every entry
+ * is stored exclusive or-ed with the entry, so an entry whose two halves were written by different threads
+ * no longer matches its key and is treated as missing.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public class TranspositionTable
+{
+	/**
+	 * Replacement policy that always overwrites the stored entry.
+	 */
+	public static final int REPLACE_ALWAYS = 0;
+	/**
+	 * Replacement policy that only overwrites the stored entry if it is from an older search,
+	 * or was searched to the same depth or less than the new entry.
+	 */
+	public static final int REPLACE_DEPTH_PREFERRED = 1;
+	/**
+	 * Replacement policy that keeps two entries per slot, one kept by depth and one always overwritten.
+	 */
+	public static final int REPLACE_TWO_TIER = 2;
+	/**
+	 * Bound type for an exact score.
+	 */
+	public static final int BOUND_EXACT = 1;
+	/**
+	 * Bound type for a score that is a lower bound, the search failed high.
+	 */
+	public static final int BOUND_LOWER = 2;
+	/**
+	 * Bound type for a score that is an upper bound, the search failed low.
+	 */
+	public static final int BOUND_UPPER = 3;
+	/**
+	 * Value returned by probe when the position is not in the table.
+	 */
+	public static final long NO_ENTRY = 0;
+	private static final int DEPTH_SHIFT = 32;
+	private static final int BOUND_SHIFT = 40;
+	private static final int MOVE_SHIFT = 42;
+	private static final int GENERATION_SHIFT = 50;
+	private static final long BYTE_MASK = 0xFFL;
+	private final long[] keys; //Full Zobrist key of every entry, exclusive or-ed with the entry
+	private final long[] entries; //Packed entries, 0 when empty
+	private final int mask; //Mask to turn a key into a slot index
+	private final int policy; //Replacement policy
+	private volatile int generation; //Generation of the current search, used to age out old entries
+	private final LongAdder probes; //Amount of probes since the statistics were reset
+	private final LongAdder hits; //Amount of probes that found their position since the statistics were reset
+
+	/**
+	 * Creates a table with 2 to the power of sizeBits entries.
+	 * @param sizeBits the base 2 logarithm of the amount of entries
+	 * @param policy the replacement policy
+	 */
+	public TranspositionTable(int sizeBits, int policy)
+	{
+		if (sizeBits < 1 || sizeBits > 30)
+		{
+			throw new IllegalArgumentException("Table size bits out of range: " + sizeBits);
+		}
+		if (policy != REPLACE_ALWAYS && policy != REPLACE_DEPTH_PREFERRED && policy != REPLACE_TWO_TIER)
+		{
+			throw new IllegalArgumentException("Unknown replacement policy: " + policy);
+		}
+
+		keys = new long[1 << sizeBits];
+		entries = new long[1 << sizeBits];
+		mask = (1 << sizeBits) - 1;
+		this.policy = policy;
+		generation = 0;
+		probes = new LongAdder();
+		hits = new LongAdder();
+	}
+
+	/**
+	 * Returns the packed entry for the given key, or NO_ENTRY if it is not in the table.
+	 * Use the static getters to read the packed entry.
+	 * @param key the Zobrist key of the position
+	 * @return long the packed entry, or NO_ENTRY
+	 */
+	public long probe(long key)
+	{
+		probes.increment();
+		int index = (int) key & mask;
+		if (policy == REPLACE_TWO_TIER)
+		{
+			index &= ~1;
+			long entry = entries[index + 1];
+			if (entry != NO_ENTRY && (keys[index + 1] ^ entry) == key)
+			{
+				hits.increment();
+				return entry;
+			}
+		}
+
+		long entry = entries[index];
+		if (entry != NO_ENTRY && (keys[index] ^ entry) == key)
+		{
+			hits.increment();
+			return entry;
+		}
+
+		return NO_ENTRY;
+	}
+
+	/**
+	 * Stores the result of searching a position in the table, following the replacement policy.
+	 * @param key the Zobrist key of the position
+	 * @param depth the depth the position was searched to
+	 * @param bound the bound type of the score
+	 * @param score the score of the position
+	 * @param move the best move found, or -1
+	 */
+	public void store(long key, int depth, int bound, int score, int move)
+	{
+		long entry = (score & 0xFFFFFFFFL)
+				| ((long) Math.min(Math.max(depth, 0), 255) << DEPTH_SHIFT)
+				| ((long) bound << BOUND_SHIFT)
+				| ((long) (move + 1) << MOVE_SHIFT)
+				| ((long) generation << GENERATION_SHIFT);
+		int index = (int) key & mask;
+
+		if (policy == REPLACE_TWO_TIER)
+		{
+			//First slot of the bucket is kept by depth, the second is always replaced
+			index &= ~1;
+			if (!shouldReplace(index, key, depth))
+			{
+				index++;
+			}
+		}
+		else if (policy == REPLACE_DEPTH_PREFERRED && !shouldReplace(index, key, depth))
+		{
+			return;
+		}
+
+		keys[index] = key ^ entry;
+		entries[index] = entry;
+	}
+
+	/**
+	 * Starts a new search generation, so that entries from older searches are replaced first.
+	 */
+	public void newSearch()
+	{
+		generation = (generation + 1) & (int) BYTE_MASK;
+	}
+
+	/**
+	 * Removes every entry from the table and resets the statistics.
+	 */
+	public void clear()
+	{
+		Arrays.fill(keys, 0);
+		Arrays.fill(entries, NO_ENTRY);
+		resetStatistics();
+	}
+
+	/**
+	 * Resets the probe and hit counters.
+	 */
+	public void resetStatistics()
+	{
+		probes.reset();
+		hits.reset();
+	}
+
+	/**
+	 * Returns the amount of probes since the statistics were reset.
+	 * @return long the amount of probes
+	 */
+	public long getProbes()
+	{
+		return probes.sum();
+	}
+
+	/**
+	 * Returns the amount of probes that found their position since the statistics were reset.
+	 * @return long the amount of hits
+	 */
+	public long getHits()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the fraction of probes that found their position since the statistics were reset.
+	 * @return double the hit rate between 0 and 1
+	 */
+	public double getHitRate()
+	{
+		long probeCount = probes.sum();
+		return (probeCount == 0) ? 0 : (double) hits.sum() / probeCount;
+	}
+
+	/**
+	 * Returns the amount of entries the table can hold.
+	 * @return int the capacity
+	 */
+	public int getCapacity()
+	{
+		return keys.length;
+	}
+
+	/**
+	 * Returns the score of a packed entry.
+	 * @param entry the packed entry
+	 * @return int the score
+	 */
+	public static int getScore(long entry)
+	{
+		return (int) entry;
+	}
+
+	/**
+	 * Returns the depth of a packed entry.
+	 * @param entry the packed entry
+	 * @return int the depth
+	 */
+	public static int getDepth(long entry)
+	{
+		return (int) ((entry >>> DEPTH_SHIFT) & BYTE_MASK);
+	}
+
+	/**
+	 * Returns the bound type of a packed entry.
+	 * @param entry the packed entry
+	 * @return int the bound type
+	 */
+	public static int getBound(long entry)
+	{
+		return (int) ((entry >>> BOUND_SHIFT) & 0x3L);
+	}
+
+	/**
+	 * Returns the best move of a packed entry, or -1 if it has none.
+	 * @param entry the packed entry
+	 * @return int the best move
+	 */
+	public static int getMove(long entry)
+	{
+		return (int) ((entry >>> MOVE_SHIFT) & BYTE_MASK) - 1;
+	}
+
+	/**
+	 * Returns true if the slot at the given index should be replaced by an entry of the given depth.
+	 */
+	private boolean shouldReplace(int index, long key, int depth)
+	{
+		long stored = entries[index];
+		return stored == NO_ENTRY
+				|| (keys[index] ^ stored) == key
+				|| (int) ((stored >>> GENERATION_SHIFT) & BYTE_MASK) != generation
+				|| getDepth(stored) <= depth;
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * The Zobrist class holds the random keys used to hash Mancala positions. The hash of a position is the
+ * exclusive or of one key per pit for the amount of stones in that pit, and the side key when player B
+ * is to move, so it can be updated incrementally by only exclusive or-ing the pits that changed.
+ * The keys are generated from a fixed seed, so hashes are the same between runs.
+ * <br>Date Created: 10/18/2026
+ * <br>Date Updated: 10/18/2026
+ * @author Maxim Tiourin
+ * @version 1.00
+ */
+public final class Zobrist
+{
+	private static final int TABLE_STONES = 256; //Stone amounts per pit that have a precomputed key
+	private static final long SEED = 0x4D616E63616C61L;
+	private static final long[][] PIT_KEYS = new long[MancalaModel.TOTAL_PITS][TABLE_STONES];
+	private static final long SIDE_KEY;
+
+	static
+	{
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			for (int stones = 0; stones < TABLE_STONES; stones++)
+			{
+				PIT_KEYS[pit][stones] = mix(pit, stones);
+			}
+		}
+		SIDE_KEY = mix(MancalaModel.TOTAL_PITS, 0);
+	}
+
+	private Zobrist()
+	{
+	}
+
+	/**
+	 * Returns the key for the given amount of stones in the given pit.
+	 * @param pit the pit
+	 * @param stones the amount of stones in the pit
+	 * @return long the key
+	 */
+	public static long getPitKey(int pit, int stones)
+	{
+		return (stones < TABLE_STONES) ? PIT_KEYS[pit][stones] : mix(pit, stones);
+	}
+
+	/**
+	 * Returns the key for the given player to move.
+	 * @param player the player to move
+	 * @return long the key
+	 */
+	public static long getSideKey(int player)
+	{
+		return (player == MancalaModel.PLAYER_B) ? SIDE_KEY : 0;
+	}
+
+	/**
+	 * Returns the full hash of the given board and player to move.
+	 * @param pits the board, indexed by the MancalaModel pit constants
+	 * @param player the player to move
+	 * @return long the hash
+	 */
+	public static long hash(int[] pits, int player)
+	{
+		long hash = getSideKey(player);
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			hash ^= getPitKey(pit, pits[pit]);
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Returns the hash of a child board from the hash of its parent, only exclusive or-ing
+	 * the pits that differ between the two boards and the change of the player to move.
+	 * @param hash the hash of the parent board
+	 * @param parent the parent board
+	 * @param parentPlayer the player to move on the parent board
+	 * @param child the child board
+	 * @param childPlayer the player to move on the child board
+	 * @return long the hash of the child board
+	 */
+	public static long update(long hash, int[] parent, int parentPlayer, int[] child, int childPlayer)
+	{
+		for (int pit = 0; pit < MancalaModel.TOTAL_PITS; pit++)
+		{
+			int before = parent[pit];
+			int after = child[pit];
+			if (before != after)
+			{
+				hash ^= getPitKey(pit, before) ^ getPitKey(pit, after);
+			}
+		}
+
+		return hash ^ getSideKey(parentPlayer) ^ getSideKey(childPlayer);
+	}
+
+	/**
+	 * Returns a well mixed key for the given pit and stone amount, using the splitmix64 finalizer.
+	 */
+	private static long mix(int pit, int stones)
+	{
+		long z = SEED + ((long) pit << 32 | stones) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}